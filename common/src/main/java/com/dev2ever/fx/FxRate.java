@@ -0,0 +1,17 @@
+package com.dev2ever.fx;
+
+import java.time.LocalDate;
+
+
+/**
+ * An exchange rate valid from a given date: one unit of {@code base} is worth {@code rate} units of {@code quote}.
+ */
+public record FxRate(
+        String base,
+
+        String quote,
+
+        LocalDate date,
+
+        double rate) {
+}
@@ -0,0 +1,149 @@
+package com.dev2ever.fx;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+
+/**
+ * Immutable, date-indexed exchange rate lookup.
+ * <p>
+ * Each currency pair is stored as two parallel primitive arrays, epoch days and rates, sorted by date.
+ * A lookup finds the latest rate on or before the requested date by binary search, so converting thousands
+ * of amounts costs no database access and no allocation beyond the result. Pairs without a direct rate are
+ * resolved through their inverse, or crossed through a pivot currency that most rates are quoted against.
+ */
+public class FxRateCache {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final Map<String, Series> series;
+    private final String pivot;
+
+    /**
+     * Builds the cache from a set of rates. When the same pair and date appear more than once, the last rate wins.
+     *
+     * @param rates The rates to index
+     * @param pivot The currency used to cross pairs without a direct rate, e.g. {@code USD}
+     */
+    public FxRateCache(Collection<FxRate> rates, String pivot) {
+        this.pivot = pivot;
+        Map<String, TreeMap<Long, Double>> byPair = new HashMap<>();
+        for (FxRate rate : rates) {
+            byPair.computeIfAbsent(key(rate.base(), rate.quote()), k -> new TreeMap<>())
+                    .put(rate.date().toEpochDay(), rate.rate());
+        }
+        Map<String, Series> built = new HashMap<>(byPair.size() * 2);
+        byPair.forEach((pair, points) -> built.put(pair, Series.of(points)));
+        this.series = built;
+    }
+
+    /**
+     * Returns the number of currency pairs with at least one rate.
+     *
+     * @return The number of indexed pairs
+     */
+    public int pairCount() {
+        return series.size();
+    }
+
+    /**
+     * Finds the rate to convert from one currency to another on a date.
+     *
+     * @param from The currency to convert from
+     * @param to   The currency to convert to
+     * @param date The date of the conversion
+     * @return The latest applicable rate on or before the date, or empty if none is known
+     */
+    public OptionalDouble rate(String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return OptionalDouble.of(1);
+        }
+        long day = date.toEpochDay();
+        double direct = lookup(from, to, day);
+        if (!Double.isNaN(direct)) {
+            return OptionalDouble.of(direct);
+        }
+        if (!from.equals(pivot) && !to.equals(pivot)) {
+            double fromPivot = lookup(pivot, from, day);
+            double toPivot = lookup(pivot, to, day);
+            if (!Double.isNaN(fromPivot) && !Double.isNaN(toPivot)) {
+                return OptionalDouble.of(toPivot / fromPivot);
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Converts an amount from one currency to another at the rate applicable on a date,
+     * rounded half-even to two decimal places.
+     *
+     * @param amount The amount to convert
+     * @param from   The currency of the amount
+     * @param to     The currency to convert to
+     * @param date   The date of the conversion
+     * @return The converted amount, or empty if no rate is known
+     */
+    public Optional<BigDecimal> convert(BigDecimal amount, String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return Optional.of(amount);
+        }
+        OptionalDouble rate = rate(from, to, date);
+        if (rate.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(amount.multiply(BigDecimal.valueOf(rate.getAsDouble())).setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    private double lookup(String from, String to, long day) {
+        Series direct = series.get(key(from, to));
+        if (direct != null) {
+            double rate = direct.at(day);
+            if (!Double.isNaN(rate)) {
+                return rate;
+            }
+        }
+        Series inverse = series.get(key(to, from));
+        if (inverse != null) {
+            double rate = inverse.at(day);
+            if (!Double.isNaN(rate)) {
+                return 1 / rate;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static String key(String base, String quote) {
+        return base + '/' + quote;
+    }
+
+    /**
+     * The rates of one currency pair as parallel arrays sorted by epoch day.
+     */
+    private record Series(long[] days, double[] rates) {
+
+        static Series of(SortedMap<Long, Double> points) {
+            long[] days = new long[points.size()];
+            double[] rates = new double[points.size()];
+            int i = 0;
+            for (Map.Entry<Long, Double> point : points.entrySet()) {
+                days[i] = point.getKey();
+                rates[i] = point.getValue();
+                i++;
+            }
+            return new Series(days, rates);
+        }
+
+        /**
+         * Returns the rate of the latest day on or before the given day, or NaN if the day precedes all rates.
+         */
+        double at(long day) {
+            int index = Arrays.binarySearch(days, day);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 ? rates[index] : Double.NaN;
+        }
+    }
+}
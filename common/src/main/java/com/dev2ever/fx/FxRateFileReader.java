@@ -0,0 +1,60 @@
+package com.dev2ever.fx;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Reads exchange rates from a local CSV file with one rate per line: {@code date,base,quote,rate},
+ * e.g. {@code 2026-10-01,USD,EUR,0.9214}. Blank lines, lines starting with {@code #} and a header line
+ * starting with {@code date} are skipped.
+ */
+public final class FxRateFileReader {
+
+    private FxRateFileReader() {
+    }
+
+    /**
+     * Reads all rates of a file.
+     *
+     * @param file The CSV file to read
+     * @return The rates in file order
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static List<FxRate> read(Path file) throws IOException {
+        List<FxRate> rates = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.toLowerCase(Locale.ROOT).startsWith("date")) {
+                    continue;
+                }
+                String[] fields = trimmed.split(",");
+                try {
+                    if (fields.length != 4) {
+                        throw new IllegalArgumentException("expected 4 fields");
+                    }
+                    double rate = Double.parseDouble(fields[3].strip());
+                    if (!(rate > 0)) {
+                        throw new IllegalArgumentException("rate must be positive");
+                    }
+                    rates.add(new FxRate(fields[1].strip().toUpperCase(Locale.ROOT), fields[2].strip().toUpperCase(Locale.ROOT),
+                            LocalDate.parse(fields[0].strip()), rate));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IOException("Invalid exchange rate at " + file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return rates;
+    }
+}
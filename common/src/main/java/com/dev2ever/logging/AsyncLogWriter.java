@@ -0,0 +1,188 @@
+package com.dev2ever.logging;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Drains the {@link RingBuffer} on a dedicated daemon thread, formats each event as one JSON object per line and
+ * writes it through a buffered writer that is flushed whenever the buffer runs empty. Events dropped because the
+ * buffer was full are counted and reported in a warning once space is available again.
+ * <p>
+ * Events can be queued before {@link #start} names the application and opens the output; they are written once
+ * it has. While the buffer is empty the writer thread parks without a timeout, and the first event queued after
+ * that unparks it, so an idle writer costs no CPU.
+ */
+final class AsyncLogWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final RingBuffer buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder line = new StringBuilder(512);
+    private final StringBuilder message = new StringBuilder(256);
+    private String application;
+    private Writer out;
+    private volatile Thread thread;
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    AsyncLogWriter(int capacity) {
+        this.buffer = new RingBuffer(capacity);
+    }
+
+    /**
+     * Starts the writer thread, which writes the events queued so far and all later ones.
+     *
+     * @param application The name of the application written in every event
+     * @param out         The output to write to
+     */
+    void start(String application, Writer out) {
+        this.application = application;
+        this.out = out;
+        Thread writerThread = new Thread(this::drain, "structured-log-writer-" + application);
+        writerThread.setDaemon(true);
+        thread = writerThread;
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event without blocking, waking the writer thread if it is parked.
+     *
+     * @param event The event to write
+     */
+    void submit(LogEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Stops the writer thread after it has written all queued events, then closes the output.
+     */
+    void stop() {
+        running = false;
+        Thread writerThread = thread;
+        if (writerThread == null) {
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                LogEvent event = buffer.poll();
+                if (event != null) {
+                    write(event);
+                    continue;
+                }
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    write(new LogEvent(LogLevel.WARN, AsyncLogWriter.class.getName(),
+                            "Dropped {} log event(s) because the log buffer was full", new Object[]{lost}, 1));
+                }
+                out.flush();
+                if (!running) {
+                    break;
+                }
+                park();
+            }
+        } catch (IOException e) {
+            System.err.println("Structured log writer failed: " + e);
+        } finally {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // nothing left to report to
+            }
+        }
+    }
+
+    /**
+     * Parks until an event is queued or the writer is stopped. The flag is raised before the buffer is checked
+     * again, so a producer either sees it and unparks this thread, or published its event before the check.
+     */
+    private void park() {
+        sleeping = true;
+        if (buffer.isEmpty() && running) {
+            LockSupport.park(this);
+        }
+        sleeping = false;
+    }
+
+    private void write(LogEvent event) throws IOException {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestamp)).append('"');
+        field("level", event.level.name());
+        field("service", application);
+        field("logger", event.logger);
+        field("thread", event.thread);
+        if (event.requestId != null) {
+            field("requestId", event.requestId);
+        }
+        message.setLength(0);
+        event.formatMessage(message);
+        field("msg", message);
+        if (event.sampleRate > 1) {
+            line.append(",\"sampleRate\":").append(event.sampleRate);
+        }
+        if (event.error != null) {
+            StringWriter stack = new StringWriter();
+            event.error.printStackTrace(new PrintWriter(stack));
+            line.append(",\"error\":{");
+            line.append("\"type\":\"").append(event.error.getClass().getName()).append('"');
+            field("message", String.valueOf(event.error.getMessage()));
+            field("stack", stack.getBuffer());
+            line.append('}');
+        }
+        line.append("}\n");
+        out.append(line);
+    }
+
+    private void field(String name, CharSequence value) {
+        line.append(",\"").append(name).append("\":\"");
+        escape(value, line);
+        line.append('"');
+    }
+
+    /**
+     * Appends a value to a buffer as the content of a JSON string, escaping in a single pass.
+     *
+     * @param value The value to append
+     * @param out   The buffer to append to
+     */
+    static void escape(CharSequence value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
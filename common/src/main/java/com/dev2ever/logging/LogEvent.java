@@ -0,0 +1,79 @@
+package com.dev2ever.logging;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.UUID;
+
+
+/**
+ * One log statement as captured on the calling thread. Only the template and arguments are captured;
+ * the message is formatted later on the writer thread. Arguments that may be mutated after the call are
+ * converted to strings up front so the logged message reflects the state at the time of the call.
+ */
+final class LogEvent {
+
+    final long timestamp;
+    final LogLevel level;
+    final String logger;
+    final String thread;
+    final String requestId;
+    final String template;
+    final Object[] args;
+    final Throwable error;
+    final int sampleRate;
+
+    LogEvent(LogLevel level, String logger, String template, Object[] args, int sampleRate) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = level;
+        this.logger = logger;
+        this.thread = Thread.currentThread().getName();
+        this.requestId = RequestContext.requestId();
+        this.template = template;
+        this.sampleRate = sampleRate;
+
+        int count = args.length;
+        Throwable error = null;
+        if (count > 0 && args[count - 1] instanceof Throwable throwable && count > placeholders(template)) {
+            error = throwable;
+            count--;
+        }
+        this.error = error;
+        Object[] captured = new Object[count];
+        for (int i = 0; i < count; i++) {
+            captured[i] = immutable(args[i]) ? args[i] : String.valueOf(args[i]);
+        }
+        this.args = captured;
+    }
+
+    /**
+     * Formats the message by replacing each {@code {}} in the template with the next argument.
+     *
+     * @param out The buffer to append the message to
+     */
+    void formatMessage(StringBuilder out) {
+        int argument = 0;
+        int position = 0;
+        while (position < template.length()) {
+            int placeholder = template.indexOf("{}", position);
+            if (placeholder < 0 || argument >= args.length) {
+                out.append(template, position, template.length());
+                return;
+            }
+            out.append(template, position, placeholder).append(args[argument++]);
+            position = placeholder + 2;
+        }
+    }
+
+    private static int placeholders(String template) {
+        int count = 0;
+        for (int i = template.indexOf("{}"); i >= 0; i = template.indexOf("{}", i + 2)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean immutable(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?> || value instanceof TemporalAccessor
+                || value instanceof UUID;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dev2ever.logging;
+
+
+/**
+ * Severity of a log event, in increasing order.
+ */
+public enum LogLevel {
+    /**
+     * Detailed diagnostics, disabled by default.
+     */
+    DEBUG,
+
+    /**
+     * Normal operational events.
+     */
+    INFO,
+
+    /**
+     * Unexpected situations the application recovered from.
+     */
+    WARN,
+
+    /**
+     * Failures of an operation.
+     */
+    ERROR
+}
@@ -0,0 +1,50 @@
+package com.dev2ever.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Keeps roughly one in {@code rate} events of a high-volume log statement, such as a success path hit on every
+ * request. Create one sampler per call site as a constant; sampled events carry their rate, so counts derived
+ * from the logs can be scaled back up.
+ */
+public final class LogSampler {
+
+    private final int rate;
+
+    private LogSampler(int rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Creates a sampler keeping one event in {@code rate} on average.
+     *
+     * @param rate The sampling rate; 1 keeps every event
+     * @return The sampler
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    public static LogSampler oneIn(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + rate);
+        }
+        return new LogSampler(rate);
+    }
+
+    /**
+     * Decides whether the current event is kept. Uses a thread-local random, so concurrent callers do not contend.
+     *
+     * @return true if the event should be logged
+     */
+    public boolean sample() {
+        return rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    /**
+     * Returns the sampling rate.
+     *
+     * @return The number of events each kept event stands for
+     */
+    public int rate() {
+        return rate;
+    }
+}
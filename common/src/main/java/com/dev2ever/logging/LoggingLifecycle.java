@@ -0,0 +1,25 @@
+package com.dev2ever.logging;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+
+/**
+ * Starts structured logging when a web application is deployed, naming the log after the context path
+ * (e.g. "user-service"), and flushes and stops it on undeploy so no writer thread outlives the deployment.
+ */
+@WebListener
+public class LoggingLifecycle implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String contextPath = event.getServletContext().getContextPath();
+        StructuredLogging.start(contextPath.isEmpty() ? "ROOT" : contextPath.substring(1).replace('/', '-'));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        StructuredLogging.stop();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dev2ever.logging;
+
+
+/**
+ * Holds the ID of the request being processed by the current thread, so every log event written while
+ * handling it can be correlated. Set and cleared by {@link RequestIdFilter}.
+ */
+public final class RequestContext {
+
+    private static final ThreadLocal<String> REQUEST_ID = new ThreadLocal<>();
+
+    private RequestContext() {
+    }
+
+    /**
+     * Returns the ID of the current request.
+     *
+     * @return The request ID, or null outside of a request
+     */
+    public static String requestId() {
+        return REQUEST_ID.get();
+    }
+
+    static void setRequestId(String requestId) {
+        REQUEST_ID.set(requestId);
+    }
+
+    static void clear() {
+        REQUEST_ID.remove();
+    }
+}
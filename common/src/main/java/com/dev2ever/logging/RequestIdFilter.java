@@ -0,0 +1,47 @@
+package com.dev2ever.logging;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.UUID;
+
+
+/**
+ * Assigns every REST request an ID for log correlation. The caller's {@value #HEADER} header is reused when
+ * present, so a request can be followed across services; otherwise a new ID is generated. The ID is available
+ * to loggers through {@link RequestContext} while the request is processed and is echoed in the response header.
+ */
+@Provider
+@PreMatching
+public class RequestIdFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * The header carrying the request ID.
+     */
+    public static final String HEADER = "X-Request-Id";
+
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        String requestId = request.getHeaderString(HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > MAX_LENGTH) {
+            requestId = UUID.randomUUID().toString();
+        }
+        request.setProperty(HEADER, requestId);
+        RequestContext.setRequestId(requestId);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object requestId = request.getProperty(HEADER);
+        if (requestId != null) {
+            response.getHeaders().putSingle(HEADER, requestId);
+        }
+        RequestContext.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package com.dev2ever.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Bounded, lock-free queue of log events for many producers and a single consumer.
+ * <p>
+ * Producers claim a sequence number with one compare-and-set, store the event in the slot for that sequence and
+ * publish it by writing the sequence into the slot's marker. When the buffer is full, {@link #offer} fails
+ * immediately instead of blocking, so a slow disk never stalls request threads.
+ */
+final class RingBuffer {
+
+    private final LogEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    /**
+     * Creates a buffer holding up to {@code capacity} events.
+     *
+     * @param capacity The capacity, rounded up to a power of two
+     */
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new LogEvent[size];
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an event if there is room. Safe to call from any thread.
+     *
+     * @param event The event to add
+     * @return true if the event was added, false if the buffer is full
+     */
+    boolean offer(LogEvent event) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= slots.length) {
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        int index = (int) (sequence & mask);
+        slots[index] = event;
+        // A full volatile write, so the consumer's check before parking cannot miss this event
+        published.set(index, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Checks whether the next event has not been published yet. Must only be called from the consumer thread.
+     *
+     * @return true if {@link #poll} would return null
+     */
+    boolean isEmpty() {
+        long sequence = tail;
+        return published.get((int) (sequence & mask)) != sequence + 1;
+    }
+
+    /**
+     * Removes the next event. Must only be called from the consumer thread.
+     *
+     * @return The next event, or null if none has been published yet
+     */
+    LogEvent poll() {
+        long sequence = tail;
+        int index = (int) (sequence & mask);
+        if (published.get(index) != sequence + 1) {
+            return null;
+        }
+        LogEvent event = slots[index];
+        slots[index] = null;
+        tail = sequence + 1;
+        return event;
+    }
+}
@@ -0,0 +1,222 @@
+package com.dev2ever.logging;
+
+import java.util.function.Supplier;
+
+
+/**
+ * Low-overhead logger writing structured JSON events through the asynchronous writer of {@link StructuredLogging}.
+ * <p>
+ * Messages are templates with {@code {}} placeholders, e.g. {@code logger.info("Saved user {}", id)}. When the
+ * level is disabled a call returns after one comparison; when enabled, only the template and argument references
+ * are queued and the message is formatted on the writer thread. Calls with up to three arguments, or two
+ * with a sampler, allocate nothing when the event is not written. If the last argument is a {@link Throwable}
+ * without a matching placeholder, it is logged with its stack trace. Every event carries the current
+ * {@link RequestContext#requestId()}.
+ */
+public final class StructuredLogger {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String name;
+
+    private StructuredLogger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a logger named after a class.
+     *
+     * @param type The class doing the logging
+     * @return The logger
+     */
+    public static StructuredLogger getLogger(Class<?> type) {
+        return new StructuredLogger(type.getName());
+    }
+
+    /**
+     * Checks whether events of a level are written.
+     *
+     * @param level The level to check
+     * @return true if events of the level are written
+     */
+    public boolean isEnabled(LogLevel level) {
+        return StructuredLogging.isEnabled(level);
+    }
+
+    public void debug(String template) {
+        log(LogLevel.DEBUG, template, NO_ARGS);
+    }
+
+    public void debug(String template, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, template, new Object[]{arg});
+        }
+    }
+
+    public void debug(String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void debug(String template, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void debug(String template, Object... args) {
+        log(LogLevel.DEBUG, template, args);
+    }
+
+    /**
+     * Logs a debug message built only if debug is enabled.
+     *
+     * @param message Supplies the message
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a debug message for a sampled fraction of calls.
+     *
+     * @param sampler  The call site's sampler
+     * @param template The message template
+     * @param args     The template arguments
+     */
+    public void debug(LogSampler sampler, String template, Object... args) {
+        sampled(LogLevel.DEBUG, sampler, template, args);
+    }
+
+    public void debug(LogSampler sampler, String template, Object arg) {
+        if (isEnabled(LogLevel.DEBUG) && sampler.sample()) {
+            submit(LogLevel.DEBUG, sampler, template, new Object[]{arg});
+        }
+    }
+
+    public void debug(LogSampler sampler, String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG) && sampler.sample()) {
+            submit(LogLevel.DEBUG, sampler, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void info(String template) {
+        log(LogLevel.INFO, template, NO_ARGS);
+    }
+
+    public void info(String template, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, template, new Object[]{arg});
+        }
+    }
+
+    public void info(String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void info(String template, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void info(String template, Object... args) {
+        log(LogLevel.INFO, template, args);
+    }
+
+    /**
+     * Logs an info message for a sampled fraction of calls, for success paths hit on every request.
+     *
+     * @param sampler  The call site's sampler
+     * @param template The message template
+     * @param args     The template arguments
+     */
+    public void info(LogSampler sampler, String template, Object... args) {
+        sampled(LogLevel.INFO, sampler, template, args);
+    }
+
+    public void info(LogSampler sampler, String template, Object arg) {
+        if (isEnabled(LogLevel.INFO) && sampler.sample()) {
+            submit(LogLevel.INFO, sampler, template, new Object[]{arg});
+        }
+    }
+
+    public void info(LogSampler sampler, String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO) && sampler.sample()) {
+            submit(LogLevel.INFO, sampler, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void warn(String template) {
+        log(LogLevel.WARN, template, NO_ARGS);
+    }
+
+    public void warn(String template, Object arg) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, template, new Object[]{arg});
+        }
+    }
+
+    public void warn(String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void warn(String template, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void warn(String template, Object... args) {
+        log(LogLevel.WARN, template, args);
+    }
+
+    public void error(String template) {
+        log(LogLevel.ERROR, template, NO_ARGS);
+    }
+
+    public void error(String template, Object arg) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, template, new Object[]{arg});
+        }
+    }
+
+    public void error(String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void error(String template, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void error(String template, Object... args) {
+        log(LogLevel.ERROR, template, args);
+    }
+
+    private void log(LogLevel level, String template, Object[] args) {
+        if (isEnabled(level)) {
+            StructuredLogging.submit(new LogEvent(level, name, template, args, 1));
+        }
+    }
+
+    private void sampled(LogLevel level, LogSampler sampler, String template, Object[] args) {
+        if (isEnabled(level) && sampler.sample()) {
+            submit(level, sampler, template, args);
+        }
+    }
+
+    private void submit(LogLevel level, LogSampler sampler, String template, Object[] args) {
+        StructuredLogging.submit(new LogEvent(level, name, template, args, sampler.rate()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.dev2ever.logging;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Global configuration and lifecycle of structured logging for one application.
+ * <p>
+ * Events are written as JSON lines to {@code <structured.log.dir>/<application>.jsonl}, where the directory
+ * defaults to the WildFly log directory. The minimum level is read from {@code structured.log.level}
+ * (default INFO) and the buffer size from {@code structured.log.bufferSize} (default 16384 events).
+ * {@link LoggingLifecycle} starts and stops logging with the web application. Events logged before that, such as
+ * those of CDI startup observers that run before the application's listeners, are held in the buffer and written
+ * once logging starts, so every event of the application ends up in its own file. Events logged after
+ * {@link #stop()} are discarded.
+ */
+public final class StructuredLogging {
+
+    private static final LogLevel LEVEL = LogLevel.valueOf(System.getProperty("structured.log.level", "INFO"));
+    private static final int BUFFER_SIZE = Integer.getInteger("structured.log.bufferSize", 16384);
+
+    private static volatile AsyncLogWriter writer = new AsyncLogWriter(BUFFER_SIZE);
+    private static boolean started;
+
+    private StructuredLogging() {
+    }
+
+    /**
+     * Starts writing the application's log file, including the events queued so far, if not started yet.
+     *
+     * @param application The name of the application, used in the file name and in every event
+     */
+    public static synchronized void start(String application) {
+        if (started) {
+            return;
+        }
+        String directory = System.getProperty("structured.log.dir",
+                System.getProperty("jboss.server.log.dir", System.getProperty("java.io.tmpdir")));
+        Writer out;
+        try {
+            Path file = Path.of(directory, application + ".jsonl");
+            Files.createDirectories(file.getParent());
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Cannot open structured log file, logging to stdout: " + e);
+            out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        }
+        if (writer == null) {
+            writer = new AsyncLogWriter(BUFFER_SIZE);
+        }
+        writer.start(application, out);
+        started = true;
+    }
+
+    /**
+     * Writes all queued events and stops the writer thread.
+     */
+    public static synchronized void stop() {
+        if (writer != null) {
+            writer.stop();
+            writer = null;
+        }
+        started = false;
+    }
+
+    static boolean isEnabled(LogLevel level) {
+        return level.compareTo(LEVEL) >= 0;
+    }
+
+    static void submit(LogEvent event) {
+        AsyncLogWriter current = writer;
+        if (current != null) {
+            current.submit(event);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.dev2ever.migration;
+
+import com.dev2ever.logging.StructuredLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+
+/**
+ * Applies versioned SQL migration scripts to a database exactly once.
+ * <p>
+ * Scripts are read from the classpath as {@code <location>/V1.sql}, {@code <location>/V2.sql}, and so on until
+ * the next version is missing. Applied versions are recorded with a checksum in the "schema_version" table,
+ * so a redeploy only compares checksums and runs the scripts it has not seen. A script that was edited after
+ * being applied fails validation instead of silently diverging from the database.
+ * <p>
+ * Migrations hold a row lock in the "schema_version_lock" table, so when several nodes deploy at once they
+ * migrate one after the other and every version is applied once. A database whose schema predates the
+ * migrations can be adopted with {@link #withBaseline(String)}.
+ */
+public class SchemaMigrator {
+
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT NOT NULL PRIMARY KEY, checksum BIGINT NOT NULL, applied_at TIMESTAMP NOT NULL)";
+    private static final String CREATE_LOCK_TABLE = "CREATE TABLE IF NOT EXISTS schema_version_lock (id INT NOT NULL PRIMARY KEY)";
+    private static final String INSERT_LOCK_ROW = "INSERT INTO schema_version_lock (id) VALUES (1)";
+    private static final String ACQUIRE_LOCK = "SELECT id FROM schema_version_lock WHERE id = 1 FOR UPDATE";
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(SchemaMigrator.class);
+
+    private final DataSource dataSource;
+    private final String location;
+    private final ClassLoader classLoader;
+    private String baselineTable;
+
+    /**
+     * Creates a migrator for the scripts found under a classpath location.
+     *
+     * @param dataSource  The database to migrate
+     * @param location    The classpath directory holding the scripts, e.g. {@code db/migration}
+     * @param classLoader The class loader used to find the scripts
+     */
+    public SchemaMigrator(DataSource dataSource, String location, ClassLoader classLoader) {
+        this.dataSource = dataSource;
+        this.location = location;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Adopts databases created before the migrations existed: if no version has been applied yet and the given
+     * table already exists, V1 is recorded as applied without running it. V1 must create that table.
+     *
+     * @param table The table whose presence shows that the schema of V1 is in place
+     * @return This migrator
+     */
+    public SchemaMigrator withBaseline(String table) {
+        this.baselineTable = table;
+        return this;
+    }
+
+    /**
+     * Validates the applied scripts and applies the pending ones in version order, each in its own transaction,
+     * while holding the migration lock.
+     *
+     * @return The number of scripts applied
+     * @throws IllegalStateException if an applied script has changed or a script fails
+     */
+    public int migrate() {
+        try (Connection lockConnection = dataSource.getConnection(); Connection connection = dataSource.getConnection()) {
+            createTables(connection);
+            boolean autoCommit = lockConnection.getAutoCommit();
+            lockConnection.setAutoCommit(false);
+            try {
+                try (Statement statement = lockConnection.createStatement()) {
+                    statement.executeQuery(ACQUIRE_LOCK).close();
+                }
+                return migrate(connection);
+            } finally {
+                lockConnection.rollback();
+                lockConnection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int migrate(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = findApplied(connection);
+        if (applied.isEmpty() && baselineTable != null && tableExists(connection, baselineTable)) {
+            String script = read(1);
+            if (script != null) {
+                record(connection, 1, checksum(script));
+                applied.put(1, checksum(script));
+                logger.info("Table {} predates the migrations; recorded V1 as baseline without applying it.", baselineTable);
+            }
+        }
+
+        int count = 0;
+        for (int version = 1; ; version++) {
+            String script = read(version);
+            if (script == null) {
+                int latest = version - 1;
+                if (applied.keySet().stream().anyMatch(v -> v > latest)) {
+                    logger.warn("Database has schema versions newer than V{} unknown to this application.", latest);
+                }
+                return count;
+            }
+            long checksum = checksum(script);
+            Long appliedChecksum = applied.get(version);
+            if (appliedChecksum == null) {
+                apply(connection, version, script, checksum);
+                count++;
+            } else if (appliedChecksum != checksum) {
+                throw new IllegalStateException("Migration V" + version + " was changed after it was applied.");
+            }
+        }
+    }
+
+    /**
+     * Creates the version and lock tables. Nodes starting together may race to create them, so a failure is
+     * retried once, by which time the other node's tables exist.
+     */
+    private void createTables(Connection connection) throws SQLException {
+        try {
+            executeAll(connection, CREATE_VERSION_TABLE, CREATE_LOCK_TABLE);
+        } catch (SQLException e) {
+            executeAll(connection, CREATE_VERSION_TABLE, CREATE_LOCK_TABLE);
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM schema_version_lock")) {
+            resultSet.next();
+            if (resultSet.getInt(1) > 0) {
+                return;
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(INSERT_LOCK_ROW);
+        } catch (SQLException e) {
+            // Inserted by a node starting at the same time.
+        }
+    }
+
+    private static void executeAll(Connection connection, String... statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        // Only the current schema counts; H2, for one, has an INFORMATION_SCHEMA.USERS table.
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase(), table.toLowerCase()}) {
+            try (ResultSet resultSet = metaData.getTables(null, connection.getSchema(), name, null)) {
+                if (resultSet.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Map<Integer, Long> findApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1), resultSet.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection connection, int version, String script, long checksum) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";\\s*(\\r?\\n|$)")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+            record(connection, version, checksum);
+            connection.commit();
+            logger.info("Applied schema migration V{}.", version);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void record(Connection connection, int version, long checksum) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO schema_version (version, checksum, applied_at) VALUES (?, ?, CURRENT_TIMESTAMP)")) {
+            insert.setInt(1, version);
+            insert.setLong(2, checksum);
+            insert.executeUpdate();
+        }
+    }
+
+    private String read(int version) {
+        try (InputStream in = classLoader.getResourceAsStream(location + "/V" + version + ".sql")) {
+            return in != null ? new String(in.readAllBytes(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read migration V" + version, e);
+        }
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.dev2ever.startup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Collects how long each phase of an application's startup takes and formats them as a report,
+ * so slow deployments can be traced to a specific phase.
+ */
+public class StartupReport {
+
+    private final String application;
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty report. The total time is measured from this moment.
+     *
+     * @param application The name of the application being started
+     */
+    public StartupReport(String application) {
+        this.application = application;
+    }
+
+    /**
+     * Runs a startup phase and records its duration.
+     *
+     * @param <T>   The type of the phase's result
+     * @param phase The name of the phase
+     * @param work  The work done in the phase
+     * @return The result of the work
+     */
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            phases.put(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Runs a startup phase that returns no result and records its duration.
+     *
+     * @param phase The name of the phase
+     * @param work  The work done in the phase
+     */
+    public void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Formats the recorded phases, in the order they ran, followed by the total time.
+     *
+     * @return A multi-line report with one phase per line
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder("Startup report for ").append(application).append(':');
+        phases.forEach((phase, nanos) -> line(report, phase, nanos));
+        line(report, "total", System.nanoTime() - startedAt);
+        return report.toString();
+    }
+
+    private static void line(StringBuilder report, String phase, long nanos) {
+        report.append(String.format("%n  %-32s %6d ms", phase, TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.dev2ever.fx;
+
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Unit tests for the date lookup and currency crossing of {@link FxRateCache}.
+ */
+public class FxRateCacheTest extends TestCase {
+
+    private static final LocalDate OCT_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate OCT_5 = LocalDate.of(2026, 10, 5);
+    private static final LocalDate OCT_9 = LocalDate.of(2026, 10, 9);
+
+    private final FxRateCache cache = new FxRateCache(List.of(
+            new FxRate("USD", "EUR", OCT_5, 0.95),
+            new FxRate("USD", "EUR", OCT_1, 0.90),
+            new FxRate("USD", "GBP", OCT_1, 0.75)), "USD");
+
+    public void testRateOnExactDate() {
+        assertEquals(0.90, cache.rate("USD", "EUR", OCT_1).getAsDouble(), 0);
+        assertEquals(0.95, cache.rate("USD", "EUR", OCT_5).getAsDouble(), 0);
+    }
+
+    public void testRateBetweenDatesUsesEarlierRate() {
+        assertEquals(0.90, cache.rate("USD", "EUR", OCT_5.minusDays(1)).getAsDouble(), 0);
+    }
+
+    public void testRateAfterLastDateUsesLastRate() {
+        assertEquals(0.95, cache.rate("USD", "EUR", OCT_9).getAsDouble(), 0);
+    }
+
+    public void testNoRateBeforeFirstDate() {
+        assertTrue(cache.rate("USD", "EUR", OCT_1.minusDays(1)).isEmpty());
+    }
+
+    public void testSameCurrency() {
+        assertEquals(1.0, cache.rate("EUR", "EUR", OCT_1).getAsDouble(), 0);
+        assertEquals(Optional.of(new BigDecimal("12.345")), cache.convert(new BigDecimal("12.345"), "EUR", "EUR", OCT_1));
+    }
+
+    public void testInverseRate() {
+        assertEquals(1 / 0.95, cache.rate("EUR", "USD", OCT_9).getAsDouble(), 1e-12);
+    }
+
+    public void testCrossThroughPivot() {
+        OptionalDouble rate = cache.rate("EUR", "GBP", OCT_9);
+        assertEquals(0.75 / 0.95, rate.getAsDouble(), 1e-12);
+    }
+
+    public void testUnknownCurrency() {
+        assertTrue(cache.rate("USD", "JPY", OCT_9).isEmpty());
+        assertTrue(cache.convert(BigDecimal.TEN, "JPY", "EUR", OCT_9).isEmpty());
+    }
+
+    public void testConvertRoundsHalfEvenToTwoDecimals() {
+        assertEquals(Optional.of(new BigDecimal("9.50")), cache.convert(BigDecimal.TEN, "USD", "EUR", OCT_9));
+        assertEquals(Optional.of(new BigDecimal("0.02")), cache.convert(new BigDecimal("0.025"), "USD", "EUR", OCT_5.minusDays(1)));
+    }
+
+    public void testLastDuplicateRateWins() {
+        FxRateCache duplicates = new FxRateCache(List.of(
+                new FxRate("USD", "EUR", OCT_1, 0.90),
+                new FxRate("USD", "EUR", OCT_1, 0.91)), "USD");
+        assertEquals(0.91, duplicates.rate("USD", "EUR", OCT_1).getAsDouble(), 0);
+        assertEquals(1, duplicates.pairCount());
+    }
+}
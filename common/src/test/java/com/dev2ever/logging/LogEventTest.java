@@ -0,0 +1,81 @@
+package com.dev2ever.logging;
+
+import junit.framework.TestCase;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for message formatting in {@link LogEvent} and JSON output of {@link AsyncLogWriter}.
+ */
+public class LogEventTest extends TestCase {
+
+    public void testPlaceholdersAreReplacedInOrder() {
+        assertEquals("Saved expense 7 for user 3", format("Saved expense {} for user {}", 7, 3));
+    }
+
+    public void testMissingArgumentsLeavePlaceholders() {
+        assertEquals("a 1 then {}", format("a {} then {}", 1));
+    }
+
+    public void testExtraArgumentsAreIgnored() {
+        assertEquals("only 1", format("only {}", 1, 2));
+    }
+
+    public void testNullArgument() {
+        assertEquals("value null", format("value {}", (Object) null));
+    }
+
+    public void testTrailingThrowableIsTheError() {
+        IllegalStateException error = new IllegalStateException("boom");
+        LogEvent event = new LogEvent(LogLevel.ERROR, "test", "Failed {}", new Object[]{1, error}, 1);
+        assertSame(error, event.error);
+        assertEquals(1, event.args.length);
+    }
+
+    public void testThrowableWithPlaceholderIsAnArgument() {
+        IllegalStateException error = new IllegalStateException("boom");
+        LogEvent event = new LogEvent(LogLevel.ERROR, "test", "Failed with {}", new Object[]{error}, 1);
+        assertNull(event.error);
+        assertEquals("Failed with java.lang.IllegalStateException: boom", format(event));
+    }
+
+    public void testMutableArgumentIsCapturedAtCallTime() {
+        List<String> list = new ArrayList<>(List.of("a"));
+        LogEvent event = new LogEvent(LogLevel.INFO, "test", "list {}", new Object[]{list}, 1);
+        list.add("b");
+        assertEquals("list [a]", format(event));
+    }
+
+    public void testEscape() {
+        StringBuilder out = new StringBuilder();
+        AsyncLogWriter.escape("quote \" backslash \\ newline \n return \r tab \t bell \u0007 \u00e9", out);
+        assertEquals("quote \\\" backslash \\\\ newline \\n return \\r tab \\t bell \\u0007 \u00e9", out.toString());
+    }
+
+    public void testWriterOutputsOneJsonLinePerEvent() {
+        StringWriter out = new StringWriter();
+        AsyncLogWriter writer = new AsyncLogWriter(16);
+        writer.submit(new LogEvent(LogLevel.INFO, "test", "queued before start", new Object[0], 1));
+        writer.start("app", out);
+        writer.submit(new LogEvent(LogLevel.WARN, "test", "say \"{}\"", new Object[]{"hi"}, 10));
+        writer.stop();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0], lines[0].contains("\"level\":\"INFO\",\"service\":\"app\",\"logger\":\"test\""));
+        assertTrue(lines[0], lines[0].endsWith(",\"msg\":\"queued before start\"}"));
+        assertTrue(lines[1], lines[1].endsWith(",\"msg\":\"say \\\"hi\\\"\",\"sampleRate\":10}"));
+    }
+
+    private static String format(String template, Object... args) {
+        return format(new LogEvent(LogLevel.INFO, "test", template, args, 1));
+    }
+
+    private static String format(LogEvent event) {
+        StringBuilder out = new StringBuilder();
+        event.formatMessage(out);
+        return out.toString();
+    }
+}
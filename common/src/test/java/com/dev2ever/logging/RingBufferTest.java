@@ -0,0 +1,107 @@
+package com.dev2ever.logging;
+
+import junit.framework.TestCase;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for the lock-free {@link RingBuffer}.
+ */
+public class RingBufferTest extends TestCase {
+
+    public void testCapacityRoundsUpToPowerOfTwo() {
+        RingBuffer buffer = new RingBuffer(5);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(8)));
+    }
+
+    public void testEmptyBuffer() {
+        RingBuffer buffer = new RingBuffer(4);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+    }
+
+    public void testFullBufferRejectsUntilPolled() {
+        RingBuffer buffer = new RingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(4)));
+        assertEquals(0, argument(buffer.poll()));
+        assertTrue(buffer.offer(event(4)));
+        assertFalse(buffer.offer(event(5)));
+    }
+
+    public void testWraparoundKeepsOrder() {
+        RingBuffer buffer = new RingBuffer(4);
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(event(round * 3 + i)));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertFalse(buffer.isEmpty());
+                assertEquals(next++, argument(buffer.poll()));
+            }
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    public void testMultipleProducersDeliverEveryEventOnce() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        RingBuffer buffer = new RingBuffer(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    LogEvent event = event(producer * perProducer + i);
+                    while (!buffer.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        start.countDown();
+
+        Set<Integer> seen = new HashSet<>();
+        int[] lastPerProducer = new int[producers];
+        java.util.Arrays.fill(lastPerProducer, -1);
+        while (seen.size() < producers * perProducer) {
+            LogEvent event = buffer.poll();
+            if (event == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int value = argument(event);
+            assertTrue("duplicate event " + value, seen.add(value));
+            int producer = value / perProducer;
+            assertTrue("events of one producer out of order", value > lastPerProducer[producer]);
+            lastPerProducer[producer] = value;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+
+    private static LogEvent event(int value) {
+        return new LogEvent(LogLevel.INFO, "test", "{}", new Object[]{value}, 1);
+    }
+
+    private static int argument(LogEvent event) {
+        return (Integer) event.args[0];
+    }
+}
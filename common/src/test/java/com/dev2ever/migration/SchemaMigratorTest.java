@@ -0,0 +1,150 @@
+package com.dev2ever.migration;
+
+import junit.framework.TestCase;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link SchemaMigrator} against an in-memory H2 database.
+ */
+public class SchemaMigratorTest extends TestCase {
+
+    private static final String V1 = "CREATE TABLE accounts (id BIGINT NOT NULL PRIMARY KEY, name VARCHAR(50));\n";
+    private static final String V2 = "ALTER TABLE accounts ADD COLUMN email VARCHAR(100);\n" +
+            "CREATE INDEX idx_accounts_email ON accounts (email);\n";
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+
+    @Override
+    protected void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + getName() + ";LOCK_TIMEOUT=10000");
+        // An in-memory database lives as long as one of its connections is open.
+        keepAlive = dataSource.getConnection();
+    }
+
+    @Override
+    protected void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    public void testAppliesEachScriptOnce() throws SQLException {
+        Map<String, String> scripts = Map.of("V1.sql", V1, "V2.sql", V2);
+
+        assertEquals(2, migrator(scripts).migrate());
+        assertEquals(0, migrator(scripts).migrate());
+
+        assertEquals(2, count("SELECT COUNT(*) FROM schema_version"));
+        execute("INSERT INTO accounts (id, name, email) VALUES (1, 'a', 'a@example.com')");
+    }
+
+    public void testAppliesOnlyNewScripts() throws SQLException {
+        assertEquals(1, migrator(Map.of("V1.sql", V1)).migrate());
+
+        assertEquals(1, migrator(Map.of("V1.sql", V1, "V2.sql", V2)).migrate());
+        assertEquals(2, count("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    public void testRejectsChangedScript() {
+        migrator(Map.of("V1.sql", V1)).migrate();
+
+        try {
+            migrator(Map.of("V1.sql", V1.replace("VARCHAR(50)", "VARCHAR(80)"))).migrate();
+            fail("A changed script must be rejected.");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("V1"));
+        }
+    }
+
+    public void testFailedScriptIsNotRecorded() throws SQLException {
+        try {
+            migrator(Map.of("V1.sql", V1, "V2.sql", "ALTER TABLE missing ADD COLUMN x INT;\n")).migrate();
+            fail("A failing script must fail the migration.");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(1, count("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    public void testBaselinesExistingSchema() throws SQLException {
+        execute("CREATE TABLE accounts (id BIGINT NOT NULL PRIMARY KEY, name VARCHAR(50))");
+
+        int applied = migrator(Map.of("V1.sql", V1, "V2.sql", V2)).withBaseline("accounts").migrate();
+
+        assertEquals(1, applied);
+        assertEquals(2, count("SELECT COUNT(*) FROM schema_version"));
+        execute("INSERT INTO accounts (id, name, email) VALUES (1, 'a', 'a@example.com')");
+    }
+
+    public void testBaselineIsIgnoredWithoutTheTable() throws SQLException {
+        assertEquals(2, migrator(Map.of("V1.sql", V1, "V2.sql", V2)).withBaseline("accounts").migrate());
+        assertEquals(0, count("SELECT COUNT(*) FROM accounts"));
+    }
+
+    public void testConcurrentMigrationsApplyEachScriptOnce() throws Exception {
+        Map<String, String> scripts = Map.of("V1.sql", V1, "V2.sql", V2);
+        int nodes = 4;
+        CyclicBarrier start = new CyclicBarrier(nodes);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return migrator(scripts).migrate();
+                }));
+            }
+            int applied = 0;
+            for (Future<Integer> result : results) {
+                applied += result.get();
+            }
+            assertEquals(2, applied);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, count("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(1, count("SELECT COUNT(*) FROM schema_version_lock"));
+    }
+
+    private SchemaMigrator migrator(Map<String, String> scripts) {
+        Map<String, String> resources = new HashMap<>();
+        scripts.forEach((name, script) -> resources.put("db/test/" + name, script));
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                String script = resources.get(name);
+                return script != null ? new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)) : null;
+            }
+        };
+        return new SchemaMigrator(dataSource, "db/test", classLoader);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement statement = keepAlive.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.dev2ever;
+
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.core.Application;
+
+@ApplicationPath("/api")
+public class ExpenseServiceApplication extends Application {
+}
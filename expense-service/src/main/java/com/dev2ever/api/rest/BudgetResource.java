@@ -0,0 +1,114 @@
+package com.dev2ever.api.rest;
+
+import com.dev2ever.api.rest.model.ApiResponse;
+import com.dev2ever.budget.BudgetEngine;
+import com.dev2ever.model.Budget;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.repository.BudgetRepository;
+import com.dev2ever.util.OperationResult;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * REST resource for managing budgets and reading the alerts raised against them.
+ * All endpoints require "user" role authorization.
+ */
+@Path("/budgets")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RequestScoped
+@RolesAllowed("user")
+public class BudgetResource {
+
+    @Inject
+    private BudgetRepository budgetRepository;
+
+    @Inject
+    private BudgetEngine budgetEngine;
+
+    /**
+     * Creates a new budget and starts evaluating expenses against it.
+     *
+     * @param newBudget The budget to be created
+     * @return Response with status:
+     * 201 (Created) if the budget was successfully created
+     * 409 (Conflict) if the user already has a budget for the category
+     * 400 (Bad Request) if validation fails
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @POST
+    public Response createBudget(Budget newBudget) {
+        OperationResult<Budget> operationResult = budgetRepository.save(newBudget);
+
+        if (operationResult.isSuccess()) {
+            budgetEngine.register(operationResult.getValue());
+            return ApiResponse.success(operationResult.getValue()).buildCreatedResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Retrieves the budgets of a user.
+     *
+     * @param userId The ID of the user who owns the budgets
+     * @return Response with status:
+     * 200 (OK) with the user's budgets
+     * 400 (Bad Request) if the user ID is missing
+     */
+    @GET
+    public Response getBudgets(@QueryParam("userId") Long userId) {
+        if (userId == null) {
+            return ApiResponse.error("User ID is required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        return ApiResponse.success(budgetRepository.findByUserId(userId)).buildOkResponse();
+    }
+
+    /**
+     * Retrieves the alerts raised for a user, newest first.
+     *
+     * @param userId The ID of the user the alerts are for
+     * @return Response with status:
+     * 200 (OK) with the user's alerts
+     * 400 (Bad Request) if the user ID is missing
+     */
+    @GET
+    @Path("/alerts")
+    public Response getAlerts(@QueryParam("userId") Long userId) {
+        if (userId == null) {
+            return ApiResponse.error("User ID is required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        return ApiResponse.success(budgetRepository.findAlertsByUserId(userId)).buildOkResponse();
+    }
+
+    /**
+     * Deletes a budget and stops evaluating expenses against it.
+     *
+     * @param id The ID of the budget to delete
+     * @return Response with status:
+     * 200 (OK) if the budget was successfully deleted
+     * 404 (Not Found) if the budget doesn't exist
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response deleteBudget(@PathParam("id") Long id) {
+        OperationResult<Budget> operationResult = budgetRepository.deleteById(id);
+
+        if (operationResult.isSuccess()) {
+            budgetEngine.unregister(operationResult.getValue());
+            return ApiResponse.success().buildOkResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.dev2ever.api.rest;
+
+import com.dev2ever.api.rest.model.ApiResponse;
+import com.dev2ever.api.rest.model.ExpenseSummary;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.model.Expense;
+import com.dev2ever.report.ExpenseReports;
+import com.dev2ever.repository.ExpenseRepository;
+import com.dev2ever.util.OperationResult;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+
+/**
+ * REST resource for managing expense operations.
+ * This class provides endpoints for recording expenses and listing them by date range,
+ * including months that have been moved to the archive.
+ * All endpoints require "user" role authorization.
+ */
+@Path("/expenses")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RequestScoped
+@RolesAllowed("user")
+public class ExpenseResource {
+
+    @Inject
+    private ExpenseRepository expenseRepository;
+
+    @Inject
+    private ExpenseReports expenseReports;
+
+    /**
+     * Records a new expense.
+     *
+     * @param newExpense The expense to be created
+     * @return Response with status:
+     * 201 (Created) if the expense was successfully created
+     * 400 (Bad Request) if validation fails
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @POST
+    public Response createExpense(Expense newExpense) {
+        OperationResult<Expense> operationResult = expenseRepository.save(newExpense);
+
+        if (operationResult.isSuccess()) {
+            return ApiResponse.success(operationResult.getValue()).buildCreatedResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Retrieves the expenses of a user within a date range.
+     *
+     * @param userId The ID of the user who owns the expenses
+     * @param from   The first date of the range (ISO format), inclusive; defaults to one year before {@code to}
+     * @param to     The last date of the range (ISO format), inclusive; defaults to today
+     * @return Response with status:
+     * 200 (OK) with the expenses ordered by date
+     * 400 (Bad Request) if the user ID is missing or a date is invalid
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @GET
+    public Response getExpenses(@QueryParam("userId") Long userId,
+                                @QueryParam("from") String from,
+                                @QueryParam("to") String to) {
+        if (userId == null) {
+            return ApiResponse.error("User ID is required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        LocalDate toDate;
+        LocalDate fromDate;
+        try {
+            toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            fromDate = from != null ? LocalDate.parse(from) : toDate.minusYears(1);
+        } catch (DateTimeParseException e) {
+            return ApiResponse.error("Invalid date: " + e.getParsedString(), ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+
+        OperationResult<List<Expense>> operationResult = expenseRepository.findByUserAndDateRange(userId, fromDate, toDate);
+
+        if (operationResult.isSuccess()) {
+            return ApiResponse.success(operationResult.getValue()).buildOkResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Totals the expenses of a user within a date range per category, converted to one currency.
+     *
+     * @param userId   The ID of the user who owns the expenses
+     * @param from     The first date of the range (ISO format), inclusive; defaults to one year before {@code to}
+     * @param to       The last date of the range (ISO format), inclusive; defaults to today
+     * @param currency The ISO 4217 code of the currency to report in, usually the user's home currency
+     * @return Response with status:
+     * 200 (OK) with the expense summary
+     * 400 (Bad Request) if a parameter is missing or invalid, or an exchange rate is not known
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @GET
+    @Path("/summary")
+    public Response getExpenseSummary(@QueryParam("userId") Long userId,
+                                      @QueryParam("from") String from,
+                                      @QueryParam("to") String to,
+                                      @QueryParam("currency") String currency) {
+        if (userId == null || currency == null || !currency.matches("[A-Z]{3}")) {
+            return ApiResponse.error("User ID and a three-letter currency code are required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        LocalDate toDate;
+        LocalDate fromDate;
+        try {
+            toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            fromDate = from != null ? LocalDate.parse(from) : toDate.minusYears(1);
+        } catch (DateTimeParseException e) {
+            return ApiResponse.error("Invalid date: " + e.getParsedString(), ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+
+        OperationResult<ExpenseSummary> operationResult = expenseReports.summarize(userId, fromDate, toDate, currency);
+
+        if (operationResult.isSuccess()) {
+            return ApiResponse.success(operationResult.getValue()).buildOkResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Retrieves a specific expense by its ID.
+     *
+     * @param id The ID of the expense to retrieve
+     * @return Response with status:
+     * 200 (OK) with expense data if found
+     * 204 (No Content) if the expense is not found or has been archived
+     */
+    @GET
+    @Path("/{id}")
+    public Response getExpenseById(@PathParam("id") Long id) {
+        return expenseRepository.findById(id)
+                .map(expense -> ApiResponse.success(expense).buildOkResponse())
+                .orElseGet(() -> ApiResponse.success().buildNoContentResponse());
+    }
+}
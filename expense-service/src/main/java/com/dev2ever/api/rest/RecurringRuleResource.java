@@ -0,0 +1,95 @@
+package com.dev2ever.api.rest;
+
+import com.dev2ever.api.rest.model.ApiResponse;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.model.RecurringRule;
+import com.dev2ever.recurring.RecurringScheduler;
+import com.dev2ever.repository.RecurringRuleRepository;
+import com.dev2ever.util.OperationResult;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * REST resource for managing recurring expenses such as rent or subscriptions.
+ * All endpoints require "user" role authorization.
+ */
+@Path("/recurring-rules")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RequestScoped
+@RolesAllowed("user")
+public class RecurringRuleResource {
+
+    @Inject
+    private RecurringRuleRepository ruleRepository;
+
+    @Inject
+    private RecurringScheduler recurringScheduler;
+
+    /**
+     * Creates a new recurring rule. Occurrences on or before today, including past ones when the start date
+     * is in the past, are recorded by the next materialization run.
+     *
+     * @param newRule The rule to be created
+     * @return Response with status:
+     * 201 (Created) if the rule was successfully created
+     * 400 (Bad Request) if validation fails
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @POST
+    public Response createRule(RecurringRule newRule) {
+        OperationResult<RecurringRule> operationResult = ruleRepository.save(newRule);
+
+        if (operationResult.isSuccess()) {
+            recurringScheduler.schedule(operationResult.getValue());
+            return ApiResponse.success(operationResult.getValue()).buildCreatedResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Retrieves the recurring rules of a user.
+     *
+     * @param userId The ID of the user who owns the rules
+     * @return Response with status:
+     * 200 (OK) with the user's rules
+     * 400 (Bad Request) if the user ID is missing
+     */
+    @GET
+    public Response getRules(@QueryParam("userId") Long userId) {
+        if (userId == null) {
+            return ApiResponse.error("User ID is required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        return ApiResponse.success(ruleRepository.findByUserId(userId)).buildOkResponse();
+    }
+
+    /**
+     * Deletes a recurring rule. Expenses already recorded for it are kept.
+     *
+     * @param id The ID of the rule to delete
+     * @return Response with status:
+     * 200 (OK) if the rule was successfully deleted
+     * 404 (Not Found) if the rule doesn't exist
+     * 500 (Internal Server Error) if an unexpected error occurs
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response deleteRule(@PathParam("id") Long id) {
+        OperationResult<RecurringRule> operationResult = ruleRepository.deleteById(id);
+
+        if (operationResult.isSuccess()) {
+            return ApiResponse.success().buildOkResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dev2ever.api.rest.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+
+/**
+ * Represents a user's expenses over a date range, totalled per category and converted to one currency.
+ */
+public record ExpenseSummary(
+        Long userId,
+
+        LocalDate from,
+
+        LocalDate to,
+
+        String currency,
+
+        BigDecimal total,
+
+        Map<String, BigDecimal> totalsByCategory,
+
+        int expenseCount) {
+}
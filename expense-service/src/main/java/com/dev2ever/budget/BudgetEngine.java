@@ -0,0 +1,292 @@
+package com.dev2ever.budget;
+
+import com.dev2ever.fx.CurrencyConverter;
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.*;
+import com.dev2ever.repository.BudgetRepository;
+import com.dev2ever.repository.BudgetSpendingRepository;
+import com.dev2ever.repository.ExpenseRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Evaluates budgets incrementally as expenses are recorded.
+ * <p>
+ * Month-to-date totals of every budgeted user and category are kept in memory. Each new expense costs two
+ * hash lookups and one addition: expenses in unbudgeted categories are ignored, and a threshold is crossed
+ * exactly when the total before the expense was below it and the total after is not. The totals are written
+ * through to the "budget_spending" aggregate table with one in-place update in the expense's transaction, and
+ * the in-memory total follows once that transaction commits. On startup the engine rebuilds its state from that
+ * table instead of re-summing expenses, and a month that is not in memory, such as a backdated one, is read
+ * from the table the first time one of its expenses is recorded. Expenses in another currency than the
+ * budget are converted with the in-memory {@link CurrencyConverter}; expenses without a known rate are skipped.
+ * <p>
+ * Alerts are queued and persisted in batches by a background task every few seconds
+ * ({@code budget.alerts.flushSeconds}, default 5).
+ */
+@ApplicationScoped
+public class BudgetEngine {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(BudgetEngine.class);
+
+    private final Map<BudgetKey, Limits> limits = new ConcurrentHashMap<>();
+    private final Map<SpendingKey, BigDecimal> totals = new ConcurrentHashMap<>();
+    private final Queue<BudgetAlert> pendingAlerts = new ConcurrentLinkedQueue<>();
+
+    @Inject
+    private BudgetRepository budgetRepository;
+
+    @Inject
+    private BudgetSpendingRepository spendingRepository;
+
+    @Inject
+    private ExpenseRepository expenseRepository;
+
+    @Inject
+    private CurrencyConverter currencyConverter;
+
+    @Inject
+    private Event<SpendingAdded> spendingAdded;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> flushTask;
+
+    /**
+     * Loads all budgets and the totals of the previous and current month when the application starts,
+     * and schedules the alert flush.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        budgetRepository.findAll().forEach(budget -> limits.put(BudgetKey.of(budget), Limits.of(budget)));
+        LocalDate firstMonth = YearMonth.now().minusMonths(1).atDay(1);
+        for (BudgetSpending spending : spendingRepository.findFromMonth(firstMonth)) {
+            totals.put(new SpendingKey(spending.getUserId(), spending.getCategory(), spending.getMonthStart()), spending.getTotal());
+        }
+        logger.info("Budget engine loaded {} budget(s) and {} total(s).", limits.size(), totals.size());
+
+        long flushSeconds = Long.getLong("budget.alerts.flushSeconds", 5);
+        flushTask = scheduler.scheduleWithFixedDelay(this::flushAlerts, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the alert flush and persists the alerts still queued when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flushAlerts();
+    }
+
+    /**
+     * Starts tracking a newly created budget, seeding its current month total from the expenses recorded so far.
+     * The limit is published before the total is seeded, and the total's row is locked while the expenses are
+     * summed, so an expense recorded concurrently is either part of the sum or added after it.
+     *
+     * @param budget The budget to track
+     */
+    @Transactional
+    public void register(Budget budget) {
+        limits.put(BudgetKey.of(budget), Limits.of(budget));
+        SpendingKey key = new SpendingKey(budget.getUserId(), budget.getCategory(), YearMonth.now().atDay(1));
+        writeThrough(key, BigDecimal.ZERO);
+        BigDecimal total = BigDecimal.ZERO;
+        for (Expense expense : expenseRepository.findByUserAndCategory(budget.getUserId(), budget.getCategory(),
+                key.monthStart(), key.monthStart().plusMonths(1).minusDays(1))) {
+            total = total.add(currencyConverter.convert(expense.getAmount(), expense.getCurrency(),
+                    budget.getCurrency(), expense.getExpenseDate()).orElse(BigDecimal.ZERO));
+        }
+        spendingRepository.setTotal(key.userId(), key.category(), key.monthStart(), total);
+        totals.put(key, total);
+    }
+
+    /**
+     * Stops tracking a deleted budget. Its persisted totals are deleted together with the budget.
+     *
+     * @param budget The budget that was deleted
+     */
+    public void unregister(Budget budget) {
+        limits.remove(BudgetKey.of(budget));
+        totals.keySet().removeIf(key -> key.userId().equals(budget.getUserId()) && key.category().equals(budget.getCategory()));
+    }
+
+    /**
+     * Adds a budgeted expense to the aggregate table within the expense's transaction. The total is only read
+     * back when its month is not in memory yet.
+     *
+     * @param event The recorded expense
+     */
+    void onExpenseRecorded(@Observes ExpenseRecorded event) {
+        Limits budgetLimits = limits.get(new BudgetKey(event.userId(), event.category()));
+        if (budgetLimits == null) {
+            return;
+        }
+        Optional<BigDecimal> amount = convert(event, budgetLimits);
+        if (amount.isEmpty()) {
+            return;
+        }
+        SpendingKey key = new SpendingKey(event.userId(), event.category(), event.expenseDate().withDayOfMonth(1));
+        boolean loaded = totals.containsKey(key);
+        writeThrough(key, amount.get());
+        BigDecimal persistedTotal = loaded ? null
+                : spendingRepository.findTotal(key.userId(), key.category(), key.monthStart()).orElse(null);
+        spendingAdded.fire(new SpendingAdded(key, amount.get(), persistedTotal));
+    }
+
+    /**
+     * Adds a budgeted expense to the in-memory total once its transaction has committed, and queues an alert
+     * for the highest threshold the new total crosses. A month that was not in memory starts from the total
+     * read in the expense's transaction; if two of its first expenses commit out of order, the larger total wins.
+     *
+     * @param event The amount added to the aggregate table
+     */
+    void onSpendingCommitted(@Observes(during = TransactionPhase.AFTER_SUCCESS) SpendingAdded event) {
+        Limits budgetLimits = limits.get(new BudgetKey(event.key().userId(), event.key().category()));
+        if (budgetLimits == null) {
+            return;
+        }
+        totals.compute(event.key(), (key, previous) -> {
+            if (previous == null && event.persistedTotal() == null) {
+                return null;
+            }
+            BigDecimal after;
+            if (event.persistedTotal() == null) {
+                after = previous.add(event.amount());
+            } else {
+                after = previous == null ? event.persistedTotal() : previous.max(event.persistedTotal());
+            }
+            BigDecimal before = previous != null ? previous : after.subtract(event.amount());
+            if (crosses(before, after, budgetLimits.limit())) {
+                pendingAlerts.add(alert(key, AlertLevel.EXCEEDED, after, budgetLimits.limit()));
+            } else if (crosses(before, after, budgetLimits.warning())) {
+                pendingAlerts.add(alert(key, AlertLevel.WARNING, after, budgetLimits.limit()));
+            }
+            return after;
+        });
+    }
+
+    /**
+     * Persists the queued alerts in one batch and drops in-memory totals of months that can no longer
+     * be the current or previous month.
+     */
+    void flushAlerts() {
+        try {
+            List<BudgetAlert> batch = new ArrayList<>();
+            for (BudgetAlert alert = pendingAlerts.poll(); alert != null; alert = pendingAlerts.poll()) {
+                batch.add(alert);
+            }
+            if (!batch.isEmpty()) {
+                budgetRepository.saveAlerts(batch);
+                logger.info("Raised {} budget alert(s).", batch.size());
+            }
+            LocalDate firstMonth = YearMonth.now().minusMonths(1).atDay(1);
+            totals.keySet().removeIf(key -> key.monthStart().isBefore(firstMonth));
+        } catch (Exception e) {
+            logger.error("Error flushing budget alerts", e);
+        }
+    }
+
+    /**
+     * Adds an amount to a persisted month-to-date total, creating the row first if the month has none yet.
+     * The row is created in a separate transaction; if a concurrent expense created it first, the creation
+     * fails and the retried update uses that row instead.
+     */
+    private void writeThrough(SpendingKey key, BigDecimal amount) {
+        if (spendingRepository.addToTotal(key.userId(), key.category(), key.monthStart(), amount)) {
+            return;
+        }
+        try {
+            spendingRepository.create(key.userId(), key.category(), key.monthStart());
+        } catch (RuntimeException e) {
+            logger.debug("Budget total for user {}, {} {} was created concurrently.",
+                    key.userId(), key.category(), key.monthStart());
+        }
+        if (!spendingRepository.addToTotal(key.userId(), key.category(), key.monthStart(), amount)) {
+            throw new IllegalStateException("No budget total for user " + key.userId() + ", " + key.category()
+                    + " " + key.monthStart());
+        }
+    }
+
+    private Optional<BigDecimal> convert(ExpenseRecorded event, Limits budgetLimits) {
+        Optional<BigDecimal> amount = currencyConverter.convert(event.amount(), event.currency(),
+                budgetLimits.currency(), event.expenseDate());
+        if (amount.isEmpty()) {
+            logger.warn("No exchange rate from {} to {} on {}; expense not added to budget.",
+                    event.currency(), budgetLimits.currency(), event.expenseDate());
+        }
+        return amount;
+    }
+
+    private static boolean crosses(BigDecimal before, BigDecimal after, BigDecimal threshold) {
+        return before.compareTo(threshold) < 0 && after.compareTo(threshold) >= 0;
+    }
+
+    private static BudgetAlert alert(SpendingKey key, AlertLevel level, BigDecimal total, BigDecimal limit) {
+        BudgetAlert alert = new BudgetAlert();
+        alert.setUserId(key.userId());
+        alert.setCategory(key.category());
+        alert.setMonthStart(key.monthStart());
+        alert.setLevel(level);
+        alert.setTotal(total);
+        alert.setMonthlyLimit(limit);
+        alert.setCreatedAt(Instant.now());
+        return alert;
+    }
+
+    private record BudgetKey(Long userId, String category) {
+        static BudgetKey of(Budget budget) {
+            return new BudgetKey(budget.getUserId(), budget.getCategory());
+        }
+    }
+
+    record SpendingKey(Long userId, String category, LocalDate monthStart) {
+    }
+
+    /**
+     * Event fired within an expense's transaction once its amount was added to the aggregate table.
+     *
+     * @param key            The user, category and month of the total
+     * @param amount         The amount added, in the budget's currency
+     * @param persistedTotal The new persisted total if the month was not in memory, null otherwise
+     */
+    record SpendingAdded(SpendingKey key, BigDecimal amount, BigDecimal persistedTotal) {
+    }
+
+    private record Limits(BigDecimal limit, BigDecimal warning, String currency) {
+        static Limits of(Budget budget) {
+            BigDecimal warning = budget.getMonthlyLimit()
+                    .multiply(BigDecimal.valueOf(budget.getWarningPercent()))
+                    .divide(ONE_HUNDRED);
+            return new Limits(budget.getMonthlyLimit(), warning, budget.getCurrency());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.dev2ever.fx;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.repository.FxRateRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Converts amounts between currencies using an in-memory {@link FxRateCache}.
+ * <p>
+ * When the application starts, the rates file ({@code fx.ratesFile}, default
+ * {@code ${jboss.server.config.dir}/fx-rates.csv}) is imported into the "fx_rates" table if present, in a
+ * transaction of its own, and the cache is built from that table. A file that fails to import leaves the stored
+ * rates in place. Rates crossing through the {@code fx.pivotCurrency} (default USD) are derived on the fly.
+ * The file is read once per deployment.
+ */
+@ApplicationScoped
+public class CurrencyConverter {
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(CurrencyConverter.class);
+
+    @Inject
+    private FxRateRepository fxRateRepository;
+
+    private final String pivot = System.getProperty("fx.pivotCurrency", "USD");
+
+    private volatile FxRateCache cache = new FxRateCache(List.of(), pivot);
+
+    /**
+     * Imports the rates file and builds the cache when the application starts.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        reload();
+    }
+
+    /**
+     * Imports the rates file, if present, and rebuilds the cache from the "fx_rates" table. If the stored
+     * rates cannot be read, the current cache is kept.
+     */
+    void reload() {
+        String configDirectory = System.getProperty("jboss.server.config.dir", ".");
+        Path file = Path.of(System.getProperty("fx.ratesFile", configDirectory + "/fx-rates.csv"));
+        if (Files.isReadable(file)) {
+            try {
+                int imported = fxRateRepository.replaceAll(FxRateFileReader.read(file));
+                logger.info("Imported {} exchange rate(s) from {}.", imported, file);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error importing exchange rates, keeping stored rates", e);
+            }
+        }
+        try {
+            cache = new FxRateCache(fxRateRepository.findAll(), pivot);
+            logger.info("Exchange rate cache holds {} currency pair(s).", cache.pairCount());
+        } catch (RuntimeException e) {
+            logger.error("Error loading exchange rates, keeping the current cache", e);
+        }
+    }
+
+    /**
+     * Converts an amount from one currency to another at the rate applicable on a date.
+     *
+     * @param amount The amount to convert
+     * @param from   The currency of the amount
+     * @param to     The currency to convert to
+     * @param date   The date of the conversion
+     * @return The converted amount rounded to two decimal places, or empty if no rate is known
+     */
+    public Optional<BigDecimal> convert(BigDecimal amount, String from, String to, LocalDate date) {
+        return cache.convert(amount, from, to, date);
+    }
+}
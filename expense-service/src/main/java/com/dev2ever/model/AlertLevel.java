@@ -0,0 +1,17 @@
+package com.dev2ever.model;
+
+
+/**
+ * Enumeration of the thresholds at which a budget alert is raised.
+ */
+public enum AlertLevel {
+    /**
+     * Indicates that spending reached the budget's warning percentage of the monthly limit.
+     */
+    WARNING,
+
+    /**
+     * Indicates that spending reached or went over the monthly limit.
+     */
+    EXCEEDED
+}
@@ -0,0 +1,99 @@
+package com.dev2ever.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+
+/**
+ * Represents a monthly spending limit set by a user for one expense category.
+ * It is mapped to the "budgets" database table; each user can have at most one budget per category.
+ */
+@Entity
+@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category"}))
+@Getter
+@Setter
+@ToString
+public class Budget implements Serializable {
+
+    /**
+     * The unique identifier for the budget.
+     * This ID is automatically generated using a sequence strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_seq")
+    @SequenceGenerator(name = "budget_seq", sequenceName = "budget_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the user who owns the budget.
+     */
+    @NotNull(message = "User ID cannot be null")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The expense category the budget applies to.
+     */
+    @NotBlank(message = "Category cannot be blank")
+    @Size(max = 100, message = "Category cannot exceed 100 characters")
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * The maximum amount the user plans to spend in the category per month.
+     */
+    @NotNull(message = "Monthly limit cannot be null")
+    @Positive(message = "Monthly limit must be positive")
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * The ISO 4217 code of the currency the monthly limit is in, e.g. "EUR".
+     * Expenses in other currencies are converted to it before being added to the budget.
+     */
+    @NotNull(message = "Currency cannot be null")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /**
+     * The percentage of the monthly limit at which a warning alert is raised. Defaults to 80.
+     */
+    @Min(value = 1, message = "Warning percent must be between 1 and 100")
+    @Max(value = 100, message = "Warning percent must be between 1 and 100")
+    @Column(nullable = false)
+    private int warningPercent = 80;
+
+    /**
+     * Checks if this budget is equal to another object.
+     * Two budgets are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Budget budget = (Budget) o;
+        return getId() != null && Objects.equals(getId(), budget.getId());
+    }
+
+    /**
+     * Generates a hash code for this budget.
+     * The hash code is based on the budget's class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this budget
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dev2ever.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+
+/**
+ * Represents a notification that a user's spending crossed a budget threshold.
+ * It is mapped to the "budget_alerts" database table.
+ */
+@Entity
+@Table(name = "budget_alerts", indexes = @Index(name = "idx_budget_alerts_user", columnList = "user_id"))
+@Getter
+@Setter
+@ToString
+public class BudgetAlert implements Serializable {
+
+    /**
+     * The unique identifier for the alert.
+     * This ID is automatically generated using a sequence strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_alert_seq")
+    @SequenceGenerator(name = "budget_alert_seq", sequenceName = "budget_alert_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the user the alert is for.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The budgeted category whose threshold was crossed.
+     */
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * The first day of the month in which the threshold was crossed.
+     */
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    /**
+     * The threshold that was crossed.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertLevel level;
+
+    /**
+     * The month-to-date total right after the threshold was crossed.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    /**
+     * The budget's monthly limit at the time of the alert.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * The moment the threshold was crossed.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Checks if this alert is equal to another object.
+     * Two alerts are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BudgetAlert alert = (BudgetAlert) o;
+        return getId() != null && Objects.equals(getId(), alert.getId());
+    }
+
+    /**
+     * Generates a hash code for this alert.
+     * The hash code is based on the alert's class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this alert
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,84 @@
+package com.dev2ever.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+
+/**
+ * Represents the running total spent by a user in a budgeted category during one month.
+ * It is mapped to the "budget_spending" aggregate table, which is updated in the same transaction as every
+ * budgeted expense and serves as the checkpoint the budget engine rebuilds its in-memory totals from.
+ */
+@Entity
+@Table(name = "budget_spending", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category", "month_start"}))
+@Getter
+@Setter
+@ToString
+public class BudgetSpending implements Serializable {
+
+    /**
+     * The unique identifier for the aggregate row.
+     * This ID is automatically generated using a sequence strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_spending_seq")
+    @SequenceGenerator(name = "budget_spending_seq", sequenceName = "budget_spending_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the user who owns the expenses.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The expense category being totalled.
+     */
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * The first day of the month being totalled.
+     */
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    /**
+     * The sum of the user's expenses in the category during the month, in the budget's currency.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    /**
+     * Checks if this aggregate row is equal to another object.
+     * Two rows are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BudgetSpending spending = (BudgetSpending) o;
+        return getId() != null && Objects.equals(getId(), spending.getId());
+    }
+
+    /**
+     * Generates a hash code for this aggregate row.
+     * The hash code is based on the class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this aggregate row
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,111 @@
+package com.dev2ever.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+
+/**
+ * Represents a single expense recorded by a user.
+ * It is mapped to the "expenses" database table, which on PostgreSQL is range-partitioned by month
+ * on {@code expenseDate}. Expenses in months older than the hot window are moved to the local archive
+ * and are only returned by date-range queries.
+ */
+@Entity
+@Table(name = "expenses", indexes = @Index(name = "idx_expenses_user_date", columnList = "user_id, expense_date"))
+@Getter
+@Setter
+@ToString
+public class Expense implements Serializable {
+
+    /**
+     * The unique identifier for the expense.
+     * This ID is generated from the "expense_seq" sequence, which is shared by all partitions.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the user who owns the expense.
+     */
+    @NotNull(message = "User ID cannot be null")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The amount spent. Must be positive; stored with two decimal places.
+     */
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * The ISO 4217 code of the currency the amount is in, e.g. "EUR".
+     */
+    @NotNull(message = "Currency cannot be null")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /**
+     * The category the expense belongs to, e.g. "groceries" or "rent".
+     */
+    @NotBlank(message = "Category cannot be blank")
+    @Size(max = 100, message = "Category cannot exceed 100 characters")
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * An optional free-text description of the expense.
+     */
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    @Column
+    private String description;
+
+    /**
+     * The date the expense was incurred. This is the partition key.
+     */
+    @NotNull(message = "Expense date cannot be null")
+    @Column(name = "expense_date", nullable = false)
+    private LocalDate expenseDate;
+
+    /**
+     * Checks if this expense is equal to another object.
+     * Two expenses are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Expense expense = (Expense) o;
+        return getId() != null && Objects.equals(getId(), expense.getId());
+    }
+
+    /**
+     * Generates a hash code for this expense.
+     * The hash code is based on the expense's class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this expense
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
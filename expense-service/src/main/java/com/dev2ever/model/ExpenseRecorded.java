@@ -0,0 +1,22 @@
+package com.dev2ever.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+
+/**
+ * CDI event fired by the expense repository when a new expense is persisted.
+ * Observers run inside the saving transaction, or after it commits when they use
+ * {@code TransactionPhase.AFTER_SUCCESS}.
+ */
+public record ExpenseRecorded(
+        Long userId,
+
+        String category,
+
+        LocalDate expenseDate,
+
+        BigDecimal amount,
+
+        String currency) {
+}
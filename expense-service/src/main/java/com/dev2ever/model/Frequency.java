@@ -0,0 +1,50 @@
+package com.dev2ever.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+
+/**
+ * Enumeration of the units a recurring rule repeats in.
+ */
+public enum Frequency {
+    /**
+     * Repeats every given number of days.
+     */
+    DAILY(ChronoUnit.DAYS),
+
+    /**
+     * Repeats every given number of weeks, on the weekday of the start date.
+     */
+    WEEKLY(ChronoUnit.WEEKS),
+
+    /**
+     * Repeats every given number of months, on the day of month of the start date.
+     * In shorter months an occurrence falls on the last day of the month.
+     */
+    MONTHLY(ChronoUnit.MONTHS),
+
+    /**
+     * Repeats every given number of years, on the month and day of the start date.
+     */
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    Frequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Computes the date of an occurrence from the start date rather than from the previous occurrence,
+     * so a rule starting on the 31st returns to the 31st after a shorter month.
+     *
+     * @param start    The date of the first occurrence
+     * @param interval The number of units between occurrences
+     * @param index    The zero-based index of the occurrence
+     * @return The date of the occurrence
+     */
+    public LocalDate occurrence(LocalDate start, int interval, long index) {
+        return start.plus(index * interval, unit);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dev2ever.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+
+/**
+ * Represents an exchange rate valid from a given date: one unit of the base currency is worth
+ * {@code rate} units of the quote currency.
+ * It is mapped to the "fx_rates" database table, the local copy of the rates file.
+ */
+@Entity
+@Table(name = "fx_rates", uniqueConstraints = @UniqueConstraint(columnNames = {"base_currency", "quote_currency", "rate_date"}))
+@Getter
+@Setter
+@ToString
+public class FxRateEntry implements Serializable {
+
+    /**
+     * The unique identifier for the rate.
+     * This ID is automatically generated using a sequence strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fx_rate_seq")
+    @SequenceGenerator(name = "fx_rate_seq", sequenceName = "fx_rate_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ISO 4217 code of the currency being priced.
+     */
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency;
+
+    /**
+     * The ISO 4217 code of the currency the price is expressed in.
+     */
+    @Column(name = "quote_currency", nullable = false, length = 3)
+    private String quoteCurrency;
+
+    /**
+     * The first date the rate applies to. It applies until the next rate of the same pair.
+     */
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    /**
+     * The number of quote currency units per base currency unit.
+     */
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+
+    /**
+     * Checks if this rate is equal to another object.
+     * Two rates are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FxRateEntry entry = (FxRateEntry) o;
+        return getId() != null && Objects.equals(getId(), entry.getId());
+    }
+
+    /**
+     * Generates a hash code for this rate.
+     * The hash code is based on the class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this rate
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,183 @@
+package com.dev2ever.model;
+
+import jakarta.json.bind.annotation.JsonbTransient;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+
+/**
+ * Represents an expense that repeats on a schedule, e.g. rent "monthly on day 1" or a subscription
+ * "every 2 weeks". It is mapped to the "recurring_rules" database table.
+ * <p>
+ * Occurrence {@code n} falls on {@code frequency.occurrence(startDate, interval, n)}. The rule keeps the index
+ * and date of its next occurrence not yet recorded as an expense; both advance in the same transaction that
+ * records the expenses, so an occurrence is recorded exactly once. {@code nextDue} is null once the rule
+ * has ended.
+ */
+@Entity
+@Table(name = "recurring_rules", indexes = {
+        @Index(name = "idx_recurring_rules_next_due", columnList = "next_due, id"),
+        @Index(name = "idx_recurring_rules_user", columnList = "user_id")})
+@Getter
+@Setter
+@ToString
+public class RecurringRule implements Serializable {
+
+    /**
+     * The unique identifier for the rule.
+     * This ID is automatically generated using a sequence strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_rule_seq")
+    @SequenceGenerator(name = "recurring_rule_seq", sequenceName = "recurring_rule_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the user who owns the rule.
+     */
+    @NotNull(message = "User ID cannot be null")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * The amount of every occurrence.
+     */
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * The ISO 4217 code of the currency the amount is in, e.g. "EUR".
+     */
+    @NotNull(message = "Currency cannot be null")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /**
+     * The category of the recorded expenses.
+     */
+    @NotBlank(message = "Category cannot be blank")
+    @Size(max = 100, message = "Category cannot exceed 100 characters")
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * An optional description copied to the recorded expenses.
+     */
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    private String description;
+
+    /**
+     * The unit the rule repeats in.
+     */
+    @NotNull(message = "Frequency cannot be null")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Frequency frequency;
+
+    /**
+     * The number of frequency units between occurrences, e.g. 2 with {@link Frequency#WEEKLY} for every 2 weeks.
+     * Defaults to 1.
+     */
+    @Min(value = 1, message = "Interval must be between 1 and 366")
+    @Max(value = 366, message = "Interval must be between 1 and 366")
+    @Column(name = "interval_count", nullable = false)
+    private int interval = 1;
+
+    /**
+     * The date of the first occurrence.
+     */
+    @NotNull(message = "Start date cannot be null")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /**
+     * The last date an occurrence may fall on, or null if the rule repeats indefinitely.
+     */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /**
+     * The zero-based index of the next occurrence to record.
+     */
+    @JsonbTransient
+    @Column(name = "next_occurrence", nullable = false)
+    private long nextOccurrence;
+
+    /**
+     * The date of the next occurrence to record, or null if the rule has ended.
+     */
+    @Column(name = "next_due")
+    private LocalDate nextDue;
+
+    /**
+     * Guards against recording occurrences from a stale copy of the rule.
+     */
+    @JsonbTransient
+    @Version
+    private long version;
+
+    /**
+     * Sets the schedule to start at the first occurrence. Called before the rule is first saved.
+     */
+    public void resetSchedule() {
+        nextOccurrence = 0;
+        nextDue = endDate == null || !startDate.isAfter(endDate) ? startDate : null;
+    }
+
+    /**
+     * Creates the expense of the next occurrence and advances the schedule to the occurrence after it.
+     *
+     * @return The expense of the occurrence that was due
+     */
+    public Expense recordNextOccurrence() {
+        Expense expense = new Expense();
+        expense.setUserId(userId);
+        expense.setAmount(amount);
+        expense.setCurrency(currency);
+        expense.setCategory(category);
+        expense.setDescription(description);
+        expense.setExpenseDate(nextDue);
+
+        nextOccurrence++;
+        LocalDate next = frequency.occurrence(startDate, interval, nextOccurrence);
+        nextDue = endDate == null || !next.isAfter(endDate) ? next : null;
+        return expense;
+    }
+
+    /**
+     * Checks if this rule is equal to another object.
+     * Two rules are considered equal if they have the same non-null ID.
+     *
+     * @param o the object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringRule rule = (RecurringRule) o;
+        return getId() != null && Objects.equals(getId(), rule.getId());
+    }
+
+    /**
+     * Generates a hash code for this rule.
+     * The hash code is based on the rule's class to ensure consistency with equals method.
+     *
+     * @return the hash code value for this rule
+     */
+    @Override
+    public final int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,145 @@
+package com.dev2ever.recurring;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+
+/**
+ * Timing wheel of recurring rule IDs with one slot per day for a fixed horizon starting today.
+ * <p>
+ * Adding a rule and advancing a day are constant-time; advancing moves the slot of the new day onto the
+ * due list, so a run only touches rules that are actually due instead of scanning all of them. Rules due
+ * beyond the horizon are not indexed and must be added once the horizon reaches them. Entries are never
+ * removed: an entry of a deleted or already processed rule is dropped when the rule is found not to be due.
+ * IDs are kept in primitive arrays, costing 8 bytes per indexed rule.
+ */
+final class DueIndex {
+
+    private final LongList[] slots;
+    private final LongList due = new LongList();
+    private long today;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param horizonDays Number of days, including today, covered by the index
+     * @param today       The current date
+     */
+    DueIndex(int horizonDays, LocalDate today) {
+        if (horizonDays < 1) {
+            throw new IllegalArgumentException("Horizon must cover at least one day: " + horizonDays);
+        }
+        this.slots = new LongList[horizonDays];
+        Arrays.setAll(slots, i -> new LongList());
+        this.today = today.toEpochDay();
+    }
+
+    /**
+     * Returns the last date covered by the index.
+     *
+     * @return The last date of the horizon
+     */
+    synchronized LocalDate horizonEnd() {
+        return LocalDate.ofEpochDay(today + slots.length - 1);
+    }
+
+    /**
+     * Indexes a rule. Rules due today or earlier go straight to the due list; rules due beyond the horizon are ignored.
+     *
+     * @param ruleId  The ID of the rule
+     * @param nextDue The date of the rule's next occurrence
+     * @return true if the rule was indexed
+     */
+    synchronized boolean add(long ruleId, LocalDate nextDue) {
+        long day = nextDue.toEpochDay();
+        if (day <= today) {
+            due.add(ruleId);
+        } else if (day < today + slots.length) {
+            slots[slot(day)].add(ruleId);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the index forward to a date, moving the rules of every day passed onto the due list.
+     *
+     * @param date The new current date; earlier dates are ignored
+     */
+    synchronized void advanceTo(LocalDate date) {
+        long target = date.toEpochDay();
+        long last = Math.min(target, today + slots.length);
+        for (long day = today + 1; day <= last; day++) {
+            LongList slot = slots[slot(day)];
+            due.addAll(slot);
+            slot.clear();
+        }
+        today = Math.max(today, target);
+    }
+
+    /**
+     * Removes up to a number of rules from the due list.
+     *
+     * @param max The maximum number of rule IDs to return
+     * @return The IDs of due rules, empty if none are due
+     */
+    synchronized long[] pollDue(int max) {
+        return due.removeLast(max);
+    }
+
+    /**
+     * Returns the number of indexed rules, including duplicate and stale entries.
+     *
+     * @return The number of entries in the index
+     */
+    synchronized long size() {
+        long size = due.size;
+        for (LongList slot : slots) {
+            size += slot.size;
+        }
+        return size;
+    }
+
+    private int slot(long day) {
+        return (int) Math.floorMod(day, (long) slots.length);
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        long[] removeLast(int max) {
+            int count = Math.min(max, size);
+            long[] removed = Arrays.copyOfRange(values, size - count, size);
+            size -= count;
+            if (size == 0 && values.length > 1024) {
+                values = new long[16];
+            }
+            return removed;
+        }
+
+        void clear() {
+            size = 0;
+            if (values.length > 1024) {
+                values = new long[16];
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev2ever.recurring;
+
+import java.time.LocalDate;
+
+
+/**
+ * The schedule entry of a recurring rule: its ID and the date of its next occurrence.
+ *
+ * @param id      The ID of the rule
+ * @param nextDue The date of the rule's next occurrence
+ */
+public record DueRule(Long id, LocalDate nextDue) {
+}
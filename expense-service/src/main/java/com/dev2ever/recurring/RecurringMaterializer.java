@@ -0,0 +1,71 @@
+package com.dev2ever.recurring;
+
+import com.dev2ever.model.Expense;
+import com.dev2ever.model.RecurringRule;
+import com.dev2ever.repository.ExpenseRepository;
+import com.dev2ever.repository.RecurringRuleRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Records the due occurrences of a batch of recurring rules as expenses.
+ * <p>
+ * The expenses and the advanced schedules of the rules are written in one transaction, so a batch is either
+ * recorded completely or not at all and can safely be retried; rules are versioned, so a batch working on a
+ * stale copy of a rule fails instead of recording an occurrence twice.
+ */
+@ApplicationScoped
+public class RecurringMaterializer {
+
+    @Inject
+    private RecurringRuleRepository ruleRepository;
+
+    @Inject
+    private ExpenseRepository expenseRepository;
+
+    /**
+     * Records every occurrence due up to a date for a batch of rules, at most {@code maxOccurrences} per rule.
+     * Rules that were deleted or are not due are skipped.
+     *
+     * @param ruleIds        The IDs of the rules
+     * @param today          The last date occurrences are recorded for
+     * @param maxOccurrences The maximum number of occurrences recorded per rule
+     * @return The number of expenses recorded and the new schedules of the rules that recorded any
+     */
+    @Transactional
+    public Result materialize(long[] ruleIds, LocalDate today, int maxOccurrences) {
+        List<RecurringRule> rules = ruleRepository.findAllByIds(Arrays.stream(ruleIds).distinct().boxed().toList());
+        List<Expense> expenses = new ArrayList<>();
+        List<DueRule> rescheduled = new ArrayList<>();
+        for (RecurringRule rule : rules) {
+            int recorded = 0;
+            while (recorded < maxOccurrences && rule.getNextDue() != null && !rule.getNextDue().isAfter(today)) {
+                expenses.add(rule.recordNextOccurrence());
+                recorded++;
+            }
+            if (recorded > 0 && rule.getNextDue() != null) {
+                rescheduled.add(new DueRule(rule.getId(), rule.getNextDue()));
+            }
+        }
+        if (!expenses.isEmpty()) {
+            expenseRepository.saveAll(expenses);
+        }
+        return new Result(expenses.size(), rescheduled);
+    }
+
+    /**
+     * The outcome of materializing a batch.
+     *
+     * @param expenses    The number of expenses recorded
+     * @param rescheduled The new schedules of the rules that recorded occurrences and have not ended
+     */
+    public record Result(int expenses, List<DueRule> rescheduled) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.dev2ever.recurring;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.RecurringRule;
+import com.dev2ever.repository.RecurringRuleRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Materializes the due occurrences of recurring rules in batches.
+ * <p>
+ * Rules due within the next few days ({@code recurring.horizonDays}) are kept in a {@link DueIndex}, filled from
+ * the database's next-due index when the application starts and whenever the horizon moves forward. Each run
+ * ({@code recurring.tickMinutes}) advances the index to today and materializes only the rules it reports as due,
+ * re-indexing each rule at its next occurrence. Because the schedules are stored, rules missed while the service
+ * was down are overdue at startup and are caught up in the first run, {@code recurring.maxCatchUp} occurrences
+ * per rule and transaction. A rule that fails to materialize is retried the next day, and a horizon that fails
+ * to load is loaded again by the next run.
+ */
+@ApplicationScoped
+public class RecurringScheduler {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(RecurringScheduler.class);
+
+    /**
+     * Rules that failed to materialize, by the date of their retry. Kept apart from the index, whose horizon
+     * may not reach the retry date. Only used by {@link #run()}.
+     */
+    private final Map<Long, LocalDate> retries = new LinkedHashMap<>();
+
+    @Inject
+    private RecurringRuleRepository ruleRepository;
+
+    @Inject
+    private RecurringMaterializer materializer;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private RecurringSettings settings;
+    private ScheduledFuture<?> runTask;
+    private volatile DueIndex index;
+    private volatile LocalDate loadedUntil;
+
+    /**
+     * Schedules the materialization runs when the application starts. The first run builds the index and
+     * catches up on occurrences missed while the service was down.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        settings = RecurringSettings.fromSystemProperties();
+        runTask = scheduler.scheduleWithFixedDelay(this::run, 0, settings.tickMinutes(), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the materialization runs when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (runTask != null) {
+            runTask.cancel(false);
+        }
+    }
+
+    /**
+     * Indexes a newly created rule so an occurrence due within the loaded horizon is materialized by the next run.
+     * Rules due later are picked up from the database when the horizon reaches them.
+     *
+     * @param rule The rule that was created
+     */
+    public void schedule(RecurringRule rule) {
+        DueIndex current = index;
+        LocalDate until = loadedUntil;
+        if (current != null && until != null && rule.getNextDue() != null && !rule.getNextDue().isAfter(until)) {
+            current.add(rule.getId(), rule.getNextDue());
+        }
+    }
+
+    /**
+     * Advances the index to today, loads the rules entering the horizon and materializes the due ones.
+     */
+    synchronized void run() {
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate previousUntil = loadedUntil;
+            if (index == null) {
+                index = new DueIndex(settings.horizonDays(), today);
+                previousUntil = null;
+            } else {
+                index.advanceTo(today);
+            }
+            LocalDate until = index.horizonEnd();
+            if (previousUntil == null || until.isAfter(previousUntil)) {
+                // Publish the new horizon before reading it, so a rule committed meanwhile is either
+                // read here or indexed by schedule().
+                loadedUntil = until;
+                int loaded;
+                try {
+                    loaded = load(previousUntil, until);
+                } catch (RuntimeException e) {
+                    // Load the whole range again next run; rules already indexed from it become harmless duplicates.
+                    loadedUntil = previousUntil;
+                    if (previousUntil == null) {
+                        index = null;
+                    }
+                    throw e;
+                }
+                logger.info("Indexed {} recurring rule(s) due until {}.", loaded, until);
+            }
+            retries.entrySet().removeIf(retry -> !retry.getValue().isAfter(today) && index.add(retry.getKey(), today));
+            materializeDue(today);
+        } catch (Exception e) {
+            logger.error("Error materializing recurring rules", e);
+        }
+    }
+
+    private int load(LocalDate after, LocalDate until) {
+        int loaded = 0;
+        DueRule last = null;
+        List<DueRule> page;
+        do {
+            page = ruleRepository.findDuePage(after, until, last, LOAD_PAGE_SIZE);
+            for (DueRule rule : page) {
+                index.add(rule.id(), rule.nextDue());
+            }
+            loaded += page.size();
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return loaded;
+    }
+
+    private void materializeDue(LocalDate today) {
+        long started = System.nanoTime();
+        int rules = 0;
+        int expenses = 0;
+        for (long[] batch = index.pollDue(settings.batchSize()); batch.length > 0; batch = index.pollDue(settings.batchSize())) {
+            rules += batch.length;
+            expenses += materializeBatch(batch, today);
+        }
+        if (rules > 0) {
+            logger.info("Recorded {} recurring expense(s) for {} due rule(s) in {} ms.",
+                    expenses, rules, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    private int materializeBatch(long[] batch, LocalDate today) {
+        try {
+            return reschedule(materializer.materialize(batch, today, settings.maxCatchUp()));
+        } catch (Exception e) {
+            if (batch.length == 1) {
+                logger.error("Error materializing recurring rule {}, retrying tomorrow", batch[0], e);
+                retries.put(batch[0], today.plusDays(1));
+                return 0;
+            }
+            // Retry one rule at a time so a single failing rule does not hold back the rest of the batch.
+            int expenses = 0;
+            for (long ruleId : batch) {
+                expenses += materializeBatch(new long[]{ruleId}, today);
+            }
+            return expenses;
+        }
+    }
+
+    private int reschedule(RecurringMaterializer.Result result) {
+        for (DueRule rule : result.rescheduled()) {
+            if (!rule.nextDue().isAfter(loadedUntil)) {
+                index.add(rule.id(), rule.nextDue());
+            }
+        }
+        return result.expenses();
+    }
+}
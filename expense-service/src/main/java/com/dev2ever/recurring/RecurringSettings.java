@@ -0,0 +1,28 @@
+package com.dev2ever.recurring;
+
+
+/**
+ * Tunables for materializing recurring rules, read from system properties so they can be set
+ * per WildFly instance without rebuilding the WAR.
+ *
+ * @param horizonDays  Number of days, including today, whose due rules are indexed in memory
+ * @param batchSize    Number of rules materialized per transaction
+ * @param maxCatchUp   Maximum number of occurrences recorded for one rule per transaction when catching up
+ * @param tickMinutes  Minutes between materialization runs
+ */
+public record RecurringSettings(int horizonDays, int batchSize, int maxCatchUp, int tickMinutes) {
+
+    /**
+     * Reads the settings from the {@code recurring.*} system properties, falling back to a 7 day horizon,
+     * batches of 500 rules, 31 occurrences per rule and batch, and a run every 60 minutes.
+     *
+     * @return The recurring settings of this instance
+     */
+    public static RecurringSettings fromSystemProperties() {
+        return new RecurringSettings(
+                Integer.getInteger("recurring.horizonDays", 7),
+                Integer.getInteger("recurring.batchSize", 500),
+                Integer.getInteger("recurring.maxCatchUp", 31),
+                Integer.getInteger("recurring.tickMinutes", 60));
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev2ever.report;
+
+import com.dev2ever.api.rest.model.ExpenseSummary;
+import com.dev2ever.fx.CurrencyConverter;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.model.Expense;
+import com.dev2ever.repository.ExpenseRepository;
+import com.dev2ever.util.OperationResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+
+/**
+ * Builds aggregate reports over a user's expenses in a single currency.
+ * Every expense is converted at the rate of its own date through the in-memory {@link CurrencyConverter},
+ * so a report costs one expense query regardless of how many currencies it spans.
+ */
+@ApplicationScoped
+public class ExpenseReports {
+
+    @Inject
+    private ExpenseRepository expenseRepository;
+
+    @Inject
+    private CurrencyConverter currencyConverter;
+
+    /**
+     * Totals a user's expenses per category within a date range, converted to the given currency.
+     *
+     * @param userId   The ID of the user who owns the expenses
+     * @param from     The first date of the range, inclusive
+     * @param to       The last date of the range, inclusive
+     * @param currency The currency to report in, usually the user's home currency
+     * @return OperationResult containing the summary, or error details if an expense has no known exchange rate
+     */
+    public OperationResult<ExpenseSummary> summarize(Long userId, LocalDate from, LocalDate to, String currency) {
+        OperationResult<List<Expense>> expenses = expenseRepository.findByUserAndDateRange(userId, from, to);
+        if (!expenses.isSuccess()) {
+            return OperationResult.error(expenses.getErrorCode(), expenses.getErrorMessage());
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        Map<String, BigDecimal> totalsByCategory = new TreeMap<>();
+        for (Expense expense : expenses.getValue()) {
+            Optional<BigDecimal> converted = currencyConverter.convert(expense.getAmount(), expense.getCurrency(),
+                    currency, expense.getExpenseDate());
+            if (converted.isEmpty()) {
+                return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR, "No exchange rate from " +
+                        expense.getCurrency() + " to " + currency + " on " + expense.getExpenseDate() + ".");
+            }
+            total = total.add(converted.get());
+            totalsByCategory.merge(expense.getCategory(), converted.get(), BigDecimal::add);
+        }
+        return OperationResult.success(new ExpenseSummary(userId, from, to, currency, total, totalsByCategory,
+                expenses.getValue().size()));
+    }
+}
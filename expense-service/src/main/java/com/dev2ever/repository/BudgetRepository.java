@@ -0,0 +1,142 @@
+package com.dev2ever.repository;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.Budget;
+import com.dev2ever.model.BudgetAlert;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.util.OperationResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+
+/**
+ * Repository class for managing Budget entities and the alerts raised against them.
+ */
+@ApplicationScoped
+public class BudgetRepository {
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(BudgetRepository.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Persists a new budget.
+     *
+     * @param budget The budget entity to be saved
+     * @return OperationResult containing either the saved budget or error details
+     * if the user already has a budget for the category or the operation failed
+     */
+    @Transactional
+    public OperationResult<Budget> save(Budget budget) {
+        try {
+            if (findByUserAndCategory(budget.getUserId(), budget.getCategory()).isPresent()) {
+                return OperationResult.error(ErrorCode.DUPLICATE_RESOURCE, "A budget already exists for this category.");
+            }
+            entityManager.persist(budget);
+            entityManager.flush();
+            return OperationResult.success(budget);
+        } catch (ConstraintViolationException e) {
+            String errors = e.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", "));
+            return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR, errors);
+        } catch (Exception e) {
+            logger.error("Error saving budget", e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while saving the budget.");
+        }
+    }
+
+    /**
+     * Retrieves the budget of a user for a category.
+     *
+     * @param userId   The ID of the user who owns the budget
+     * @param category The budgeted category
+     * @return Optional containing the budget if found, empty otherwise
+     */
+    public Optional<Budget> findByUserAndCategory(Long userId, String category) {
+        String query = "SELECT b FROM Budget b WHERE b.userId = :userId AND b.category = :category";
+        return entityManager.createQuery(query, Budget.class)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .getResultList().stream().findFirst();
+    }
+
+    /**
+     * Retrieves all budgets of a user.
+     *
+     * @param userId The ID of the user who owns the budgets
+     * @return List of the user's budgets
+     */
+    public List<Budget> findByUserId(Long userId) {
+        return entityManager.createQuery("SELECT b FROM Budget b WHERE b.userId = :userId", Budget.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    /**
+     * Retrieves all budgets from the database.
+     *
+     * @return List of all budgets in the database
+     */
+    public List<Budget> findAll() {
+        return entityManager.createQuery("SELECT b FROM Budget b", Budget.class).getResultList();
+    }
+
+    /**
+     * Deletes a budget from the database by its ID, together with its month-to-date totals, so a budget
+     * created later for the same category starts from the expenses recorded by then.
+     *
+     * @param id The ID of the budget to delete
+     * @return OperationResult containing the deleted budget or error details if the operation failed
+     */
+    @Transactional
+    public OperationResult<Budget> deleteById(Long id) {
+        try {
+            Budget budget = entityManager.find(Budget.class, id);
+            if (budget != null) {
+                entityManager.remove(budget);
+                entityManager.createQuery("DELETE FROM BudgetSpending s WHERE s.userId = :userId AND s.category = :category")
+                        .setParameter("userId", budget.getUserId())
+                        .setParameter("category", budget.getCategory())
+                        .executeUpdate();
+                return OperationResult.success(budget);
+            }
+            return OperationResult.error(ErrorCode.NOT_FOUND, "Budget not found with ID: " + id);
+        } catch (Exception e) {
+            logger.error("Error deleting budget {}", id, e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while deleting the budget.");
+        }
+    }
+
+    /**
+     * Persists a batch of alerts in a single transaction.
+     *
+     * @param alerts The alerts to be saved
+     */
+    @Transactional
+    public void saveAlerts(List<BudgetAlert> alerts) {
+        alerts.forEach(entityManager::persist);
+    }
+
+    /**
+     * Retrieves the alerts raised for a user, newest first.
+     *
+     * @param userId The ID of the user the alerts are for
+     * @return List of the user's alerts
+     */
+    public List<BudgetAlert> findAlertsByUserId(Long userId) {
+        String query = "SELECT a FROM BudgetAlert a WHERE a.userId = :userId ORDER BY a.createdAt DESC";
+        return entityManager.createQuery(query, BudgetAlert.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+}
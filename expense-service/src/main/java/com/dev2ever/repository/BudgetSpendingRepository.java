@@ -0,0 +1,116 @@
+package com.dev2ever.repository;
+
+import com.dev2ever.model.BudgetSpending;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Repository class for the "budget_spending" aggregate table holding month-to-date totals per user and category.
+ */
+@ApplicationScoped
+public class BudgetSpendingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds an amount to a month-to-date total with a single in-place update. Joins the caller's transaction,
+     * so the total commits together with the expense, and the updated row stays locked until then.
+     *
+     * @param userId     The ID of the user who owns the expense
+     * @param category   The expense category
+     * @param monthStart The first day of the expense's month
+     * @param amount     The amount to add
+     * @return true if the row existed and was updated, false if there is no row for the month yet
+     */
+    @Transactional
+    public boolean addToTotal(Long userId, String category, LocalDate monthStart, BigDecimal amount) {
+        return entityManager.createQuery("UPDATE BudgetSpending s SET s.total = s.total + :amount " +
+                        "WHERE s.userId = :userId AND s.category = :category AND s.monthStart = :monthStart")
+                .setParameter("amount", amount)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .setParameter("monthStart", monthStart)
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Replaces a month-to-date total.
+     *
+     * @param userId     The ID of the user who owns the expenses
+     * @param category   The expense category
+     * @param monthStart The first day of the month
+     * @param total      The new total
+     * @return true if the row existed and was updated
+     */
+    @Transactional
+    public boolean setTotal(Long userId, String category, LocalDate monthStart, BigDecimal total) {
+        return entityManager.createQuery("UPDATE BudgetSpending s SET s.total = :total " +
+                        "WHERE s.userId = :userId AND s.category = :category AND s.monthStart = :monthStart")
+                .setParameter("total", total)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .setParameter("monthStart", monthStart)
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Creates a zero total for a month in its own transaction. When two transactions create the same row at
+     * once, the unique constraint fails only this short transaction and not the caller's, which can then
+     * update the row committed by the other one.
+     *
+     * @param userId     The ID of the user who owns the expenses
+     * @param category   The expense category
+     * @param monthStart The first day of the month
+     * @throws jakarta.persistence.PersistenceException if a concurrent transaction created the row first
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void create(Long userId, String category, LocalDate monthStart) {
+        BudgetSpending spending = new BudgetSpending();
+        spending.setUserId(userId);
+        spending.setCategory(category);
+        spending.setMonthStart(monthStart);
+        spending.setTotal(BigDecimal.ZERO);
+        entityManager.persist(spending);
+        entityManager.flush();
+    }
+
+    /**
+     * Retrieves a month-to-date total as seen by the caller's transaction.
+     *
+     * @param userId     The ID of the user who owns the expenses
+     * @param category   The expense category
+     * @param monthStart The first day of the month
+     * @return Optional containing the total if the month has a row, empty otherwise
+     */
+    public Optional<BigDecimal> findTotal(Long userId, String category, LocalDate monthStart) {
+        return entityManager.createQuery("SELECT s.total FROM BudgetSpending s " +
+                        "WHERE s.userId = :userId AND s.category = :category AND s.monthStart = :monthStart", BigDecimal.class)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .setParameter("monthStart", monthStart)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Retrieves all totals for months starting on or after the given date.
+     *
+     * @param monthStart The first day of the oldest month to load
+     * @return List of the matching aggregate rows
+     */
+    public List<BudgetSpending> findFromMonth(LocalDate monthStart) {
+        String query = "SELECT s FROM BudgetSpending s WHERE s.monthStart >= :monthStart";
+        return entityManager.createQuery(query, BudgetSpending.class)
+                .setParameter("monthStart", monthStart)
+                .getResultList();
+    }
+}
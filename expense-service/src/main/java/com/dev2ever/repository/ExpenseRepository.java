@@ -0,0 +1,236 @@
+package com.dev2ever.repository;
+
+import com.dev2ever.logging.LogSampler;
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.model.Expense;
+import com.dev2ever.model.ExpenseRecorded;
+import com.dev2ever.storage.ExpenseArchive;
+import com.dev2ever.storage.ExpensePartitionManager;
+import com.dev2ever.util.OperationResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+
+/**
+ * Repository class for managing Expense entities.
+ * Recent months are read from the database; months moved to the {@link ExpenseArchive} are merged
+ * into date-range queries so callers see one continuous history.
+ */
+@ApplicationScoped
+public class ExpenseRepository {
+
+    /**
+     * Maximum number of IDs bound into a single IN-list statement.
+     */
+    static final int MAX_IN_LIST_SIZE = 500;
+
+    private static final LogSampler SUCCESS_SAMPLER = LogSampler.oneIn(100);
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(ExpenseRepository.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private ExpenseArchive expenseArchive;
+
+    @Inject
+    private ExpensePartitionManager partitionManager;
+
+    @Inject
+    private Event<ExpenseRecorded> expenseRecorded;
+
+    /**
+     * Persists a new expense, creating the partition for its month first if it does not exist yet,
+     * and fires an {@link ExpenseRecorded} event within the saving transaction.
+     *
+     * @param expense The expense entity to be saved
+     * @return OperationResult containing either the saved expense or error details
+     * if the operation failed due to validation or other issues
+     */
+    @Transactional
+    public OperationResult<Expense> save(Expense expense) {
+        try {
+            if (expense.getExpenseDate() != null) {
+                partitionManager.ensurePartition(YearMonth.from(expense.getExpenseDate()));
+            }
+            entityManager.persist(expense);
+            entityManager.flush();
+            expenseRecorded.fire(new ExpenseRecorded(expense.getUserId(), expense.getCategory(),
+                    expense.getExpenseDate(), expense.getAmount(), expense.getCurrency()));
+            logger.info(SUCCESS_SAMPLER, "Saved expense {} for user {}", expense.getId(), expense.getUserId());
+            return OperationResult.success(expense);
+        } catch (ConstraintViolationException e) {
+            String errors = e.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", "));
+            return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR, errors);
+        } catch (Exception e) {
+            logger.error("Error saving expense", e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while saving the expense.");
+        }
+    }
+
+    /**
+     * Persists a batch of expenses within the caller's transaction, creating the partitions of their months first,
+     * and fires an {@link ExpenseRecorded} event per expense. Inserts are sent in JDBC batches and a failure
+     * rolls back the whole batch.
+     *
+     * @param expenses The expense entities to be saved
+     */
+    @Transactional
+    public void saveAll(List<Expense> expenses) {
+        expenses.stream()
+                .map(expense -> YearMonth.from(expense.getExpenseDate()))
+                .distinct()
+                .forEach(partitionManager::ensurePartition);
+        expenses.forEach(entityManager::persist);
+        entityManager.flush();
+        for (Expense expense : expenses) {
+            expenseRecorded.fire(new ExpenseRecorded(expense.getUserId(), expense.getCategory(),
+                    expense.getExpenseDate(), expense.getAmount(), expense.getCurrency()));
+        }
+    }
+
+    /**
+     * Retrieves an expense by its ID. Only expenses still in the database are found;
+     * archived expenses are reachable through {@link #findByUserAndDateRange}.
+     *
+     * @param id The ID of the expense to find
+     * @return Optional containing the expense if found, empty otherwise
+     */
+    public Optional<Expense> findById(Long id) {
+        return Optional.ofNullable(entityManager.find(Expense.class, id));
+    }
+
+    /**
+     * Retrieves the expenses of a user within a date range, from both the database and the archive.
+     *
+     * @param userId The ID of the user who owns the expenses
+     * @param from   The first date of the range, inclusive
+     * @param to     The last date of the range, inclusive
+     * @return OperationResult containing the expenses ordered by date, or error details if the archive could not be read
+     */
+    public OperationResult<List<Expense>> findByUserAndDateRange(Long userId, LocalDate from, LocalDate to) {
+        String query = "SELECT e FROM Expense e WHERE e.userId = :userId " +
+                "AND e.expenseDate BETWEEN :from AND :to ORDER BY e.expenseDate, e.id";
+        List<Expense> expenses = entityManager.createQuery(query, Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+
+        try {
+            List<Expense> archived = expenseArchive.findByUserAndDateRange(userId, from, to);
+            if (archived.isEmpty()) {
+                return OperationResult.success(expenses);
+            }
+            // IDs are only unique together with the date: the archive outlives sequence resets of the database.
+            Map<ExpenseKey, Expense> merged = new HashMap<>();
+            archived.forEach(expense -> merged.put(ExpenseKey.of(expense), expense));
+            expenses.forEach(expense -> merged.put(ExpenseKey.of(expense), expense));
+            List<Expense> result = new ArrayList<>(merged.values());
+            result.sort(Comparator.comparing(Expense::getExpenseDate).thenComparing(Expense::getId));
+            return OperationResult.success(result);
+        } catch (Exception e) {
+            logger.error("Error reading archived expenses", e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while reading archived expenses.");
+        }
+    }
+
+    /**
+     * Retrieves one page of the expenses still in the database within a date range, regardless of user,
+     * ordered by ID. Pages are fetched by keyset, so reading a whole month costs one index scan per page.
+     *
+     * @param from    The first date of the range, inclusive
+     * @param to      The last date of the range, inclusive
+     * @param afterId The last ID of the previous page, or null for the first page
+     * @param limit   The maximum number of expenses to return
+     * @return List of the expenses in the page
+     */
+    public List<Expense> findPageByDateRange(LocalDate from, LocalDate to, Long afterId, int limit) {
+        String query = "SELECT e FROM Expense e WHERE e.expenseDate BETWEEN :from AND :to" +
+                (afterId != null ? " AND e.id > :afterId" : "") + " ORDER BY e.id";
+        TypedQuery<Expense> typedQuery = entityManager.createQuery(query, Expense.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            typedQuery.setParameter("afterId", afterId);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Retrieves the expenses of a user in one category within a date range, as stored in the database.
+     *
+     * @param userId   The ID of the user who owns the expenses
+     * @param category The expense category
+     * @param from     The first date of the range, inclusive
+     * @param to       The last date of the range, inclusive
+     * @return List of the matching expenses
+     */
+    public List<Expense> findByUserAndCategory(Long userId, String category, LocalDate from, LocalDate to) {
+        String query = "SELECT e FROM Expense e WHERE e.userId = :userId " +
+                "AND e.category = :category AND e.expenseDate BETWEEN :from AND :to";
+        return entityManager.createQuery(query, Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("category", category)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    /**
+     * Retrieves the date of the oldest expense still in the database.
+     *
+     * @return Optional containing the oldest expense date, empty if there are no expenses
+     */
+    public Optional<LocalDate> findOldestExpenseDate() {
+        return Optional.ofNullable(entityManager
+                .createQuery("SELECT MIN(e.expenseDate) FROM Expense e", LocalDate.class)
+                .getSingleResult());
+    }
+
+    /**
+     * Deletes the expenses with the given IDs within a date range from the database, one bulk statement per
+     * chunk of {@link #MAX_IN_LIST_SIZE} IDs. The range keeps rows of other months that reuse an ID untouched.
+     *
+     * @param ids  The IDs of the expenses to delete
+     * @param from The first date of the range, inclusive
+     * @param to   The last date of the range, inclusive
+     * @return The number of expenses deleted
+     */
+    @Transactional
+    public int deleteAllByIds(List<Long> ids, LocalDate from, LocalDate to) {
+        int deleted = 0;
+        for (int start = 0; start < ids.size(); start += MAX_IN_LIST_SIZE) {
+            deleted += entityManager.createQuery("DELETE FROM Expense e WHERE e.id IN :ids " +
+                            "AND e.expenseDate BETWEEN :from AND :to")
+                    .setParameter("ids", ids.subList(start, Math.min(start + MAX_IN_LIST_SIZE, ids.size())))
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .executeUpdate();
+        }
+        return deleted;
+    }
+
+    private record ExpenseKey(Long id, LocalDate expenseDate) {
+        static ExpenseKey of(Expense expense) {
+            return new ExpenseKey(expense.getId(), expense.getExpenseDate());
+        }
+    }
+}
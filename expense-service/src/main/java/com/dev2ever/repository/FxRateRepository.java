@@ -0,0 +1,73 @@
+package com.dev2ever.repository;
+
+import com.dev2ever.fx.FxRate;
+import com.dev2ever.model.FxRateEntry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Repository class for the "fx_rates" table, the local copy of the exchange rates file.
+ */
+@ApplicationScoped
+public class FxRateRepository {
+
+    private static final int BATCH_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves all stored rates.
+     *
+     * @return List of all rates
+     */
+    public List<FxRate> findAll() {
+        return entityManager.createQuery("SELECT r FROM FxRateEntry r", FxRateEntry.class)
+                .getResultStream()
+                .map(entry -> new FxRate(entry.getBaseCurrency(), entry.getQuoteCurrency(),
+                        entry.getRateDate(), entry.getRate().doubleValue()))
+                .toList();
+    }
+
+    /**
+     * Replaces all stored rates with the given ones in a transaction of their own, inserting them in JDBC batches.
+     * When the same pair and date appear more than once, the last rate wins, as in {@link com.dev2ever.fx.FxRateCache}.
+     *
+     * @param rates The rates to store
+     * @return The number of rates stored
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int replaceAll(List<FxRate> rates) {
+        Map<RateKey, FxRate> unique = new LinkedHashMap<>();
+        for (FxRate rate : rates) {
+            unique.put(new RateKey(rate.base(), rate.quote(), rate.date()), rate);
+        }
+        entityManager.createQuery("DELETE FROM FxRateEntry").executeUpdate();
+        int i = 0;
+        for (FxRate rate : unique.values()) {
+            FxRateEntry entry = new FxRateEntry();
+            entry.setBaseCurrency(rate.base());
+            entry.setQuoteCurrency(rate.quote());
+            entry.setRateDate(rate.date());
+            entry.setRate(BigDecimal.valueOf(rate.rate()));
+            entityManager.persist(entry);
+            if (++i % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return unique.size();
+    }
+
+    private record RateKey(String base, String quote, LocalDate date) {
+    }
+}
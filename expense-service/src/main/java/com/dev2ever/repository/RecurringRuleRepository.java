@@ -0,0 +1,142 @@
+package com.dev2ever.repository;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.ErrorCode;
+import com.dev2ever.model.RecurringRule;
+import com.dev2ever.recurring.DueRule;
+import com.dev2ever.util.OperationResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Repository class for managing RecurringRule entities.
+ */
+@ApplicationScoped
+public class RecurringRuleRepository {
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(RecurringRuleRepository.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Persists a new recurring rule, scheduling its first occurrence on the start date.
+     *
+     * @param rule The rule entity to be saved
+     * @return OperationResult containing either the saved rule or error details
+     * if the operation failed due to validation or other issues
+     */
+    @Transactional
+    public OperationResult<RecurringRule> save(RecurringRule rule) {
+        try {
+            if (rule.getStartDate() != null && rule.getEndDate() != null && rule.getEndDate().isBefore(rule.getStartDate())) {
+                return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR, "End date cannot be before start date");
+            }
+            if (rule.getStartDate() != null) {
+                rule.resetSchedule();
+            }
+            entityManager.persist(rule);
+            entityManager.flush();
+            return OperationResult.success(rule);
+        } catch (ConstraintViolationException e) {
+            String errors = e.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", "));
+            return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR, errors);
+        } catch (Exception e) {
+            logger.error("Error saving recurring rule", e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while saving the recurring rule.");
+        }
+    }
+
+    /**
+     * Retrieves all recurring rules of a user.
+     *
+     * @param userId The ID of the user who owns the rules
+     * @return List of the user's rules
+     */
+    public List<RecurringRule> findByUserId(Long userId) {
+        return entityManager.createQuery("SELECT r FROM RecurringRule r WHERE r.userId = :userId ORDER BY r.id", RecurringRule.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    /**
+     * Retrieves the recurring rules with the given IDs in one IN-list query; callers pass at most a batch of IDs.
+     *
+     * @param ids The IDs of the rules to find
+     * @return List of the rules found; IDs without a matching rule are skipped
+     */
+    public List<RecurringRule> findAllByIds(Collection<Long> ids) {
+        return entityManager.createQuery("SELECT r FROM RecurringRule r WHERE r.id IN :ids", RecurringRule.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Retrieves one page of rule schedules with a next occurrence in a date range, ordered by date and ID.
+     * Only the ID and date are read, and pages are fetched by keyset from the next-due index, so
+     * reading all schedules costs one index range scan regardless of the number of rules.
+     *
+     * @param after The date after which occurrences are included, or null to include all overdue rules
+     * @param until The last date of the range, inclusive
+     * @param from  The last schedule of the previous page, or null for the first page
+     * @param limit The maximum number of schedules to return
+     * @return List of the schedules in the page
+     */
+    public List<DueRule> findDuePage(LocalDate after, LocalDate until, DueRule from, int limit) {
+        StringBuilder query = new StringBuilder("SELECT new com.dev2ever.recurring.DueRule(r.id, r.nextDue) " +
+                "FROM RecurringRule r WHERE r.nextDue <= :until");
+        if (after != null) {
+            query.append(" AND r.nextDue > :after");
+        }
+        if (from != null) {
+            query.append(" AND (r.nextDue > :fromDate OR (r.nextDue = :fromDate AND r.id > :fromId))");
+        }
+        query.append(" ORDER BY r.nextDue, r.id");
+
+        TypedQuery<DueRule> typedQuery = entityManager.createQuery(query.toString(), DueRule.class)
+                .setParameter("until", until)
+                .setMaxResults(limit);
+        if (after != null) {
+            typedQuery.setParameter("after", after);
+        }
+        if (from != null) {
+            typedQuery.setParameter("fromDate", from.nextDue())
+                    .setParameter("fromId", from.id());
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Deletes a recurring rule from the database by its ID. Expenses already recorded for the rule are kept.
+     *
+     * @param id The ID of the rule to delete
+     * @return OperationResult containing the deleted rule or error details if the operation failed
+     */
+    @Transactional
+    public OperationResult<RecurringRule> deleteById(Long id) {
+        try {
+            RecurringRule rule = entityManager.find(RecurringRule.class, id);
+            if (rule != null) {
+                entityManager.remove(rule);
+                return OperationResult.success(rule);
+            }
+            return OperationResult.error(ErrorCode.NOT_FOUND, "Recurring rule not found with ID: " + id);
+        } catch (Exception e) {
+            logger.error("Error deleting recurring rule {}", id, e);
+            return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while deleting the recurring rule.");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dev2ever.startup;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.migration.SchemaMigrator;
+import com.dev2ever.storage.ExpensePartitionManager;
+import jakarta.annotation.Priority;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import javax.sql.DataSource;
+
+
+/**
+ * Prepares the expense service's schema once the application is deployed: pending schema migrations are
+ * applied and the "expenses" table is created, and the time spent in each phase is logged as a
+ * {@link StartupReport}. The observer has a higher priority than the other startup observers, so the tables
+ * exist before those observers load from them.
+ */
+@ApplicationScoped
+public class ExpenseServiceStartup {
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(ExpenseServiceStartup.class);
+
+    @Resource(lookup = "java:jboss/datasources/ExpenseDS")
+    private DataSource dataSource;
+
+    @Inject
+    private ExpensePartitionManager partitionManager;
+
+    /**
+     * Migrates the schema and logs the startup report when the application scope starts.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Priority(Interceptor.Priority.APPLICATION) @Initialized(ApplicationScoped.class) Object event) {
+        StartupReport report = new StartupReport("expense-service");
+        int applied = report.time("schema migrations",
+                () -> new SchemaMigrator(dataSource, "db/migration", getClass().getClassLoader()).migrate());
+        report.time("expense table", partitionManager::prepareTable);
+        logger.info(report.format());
+        logger.info("Applied {} schema migration(s).", applied);
+    }
+}
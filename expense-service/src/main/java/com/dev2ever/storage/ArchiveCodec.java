@@ -0,0 +1,195 @@
+package com.dev2ever.storage;
+
+import com.dev2ever.model.Expense;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Reads and writes the compressed columnar files that hold one archived month of expenses.
+ * A file is a sequence of blocks, each a separate GZIP member, so a month can be archived page by page and
+ * later pages appended without rewriting earlier ones. Within a block, rows are sorted by user and date, and
+ * each field is written as a contiguous column (IDs, user IDs, epoch days, amounts in cents, dictionary-encoded
+ * categories and currencies, descriptions), so repetitive values such as user IDs and categories compress to a
+ * few bytes per row. Version 1 blocks predate currencies; their expenses are read as {@link #LEGACY_CURRENCY}.
+ */
+final class ArchiveCodec {
+
+    private static final int MAGIC = 0x45585041; // "EXPA"
+    private static final int VERSION = 2;
+    private static final int AMOUNT_SCALE = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The currency of expenses recorded before expenses had a currency.
+     */
+    static final String LEGACY_CURRENCY = "USD";
+
+    private ArchiveCodec() {
+    }
+
+    /**
+     * Appends the given expenses to a stream as one compressed block. The stream is left open.
+     *
+     * @param target   The stream to append to
+     * @param expenses The expenses to archive
+     * @throws IOException if the block cannot be written
+     */
+    static void writeBlock(OutputStream target, List<Expense> expenses) throws IOException {
+        List<Expense> rows = new ArrayList<>(expenses);
+        rows.sort(Comparator.comparing(Expense::getUserId)
+                .thenComparing(Expense::getExpenseDate)
+                .thenComparing(Expense::getId));
+
+        // Finishing the block must not close the caller's stream.
+        GZIPOutputStream gzip = new GZIPOutputStream(new FilterOutputStream(target) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rows.size());
+            for (Expense row : rows) {
+                out.writeLong(row.getId());
+            }
+            for (Expense row : rows) {
+                out.writeLong(row.getUserId());
+            }
+            for (Expense row : rows) {
+                out.writeInt((int) row.getExpenseDate().toEpochDay());
+            }
+            for (Expense row : rows) {
+                out.writeLong(row.getAmount().setScale(AMOUNT_SCALE).unscaledValue().longValueExact());
+            }
+
+            writeDictionaryColumn(out, rows.stream().map(Expense::getCategory).toList());
+            writeDictionaryColumn(out, rows.stream().map(Expense::getCurrency).toList());
+
+            for (Expense row : rows) {
+                out.writeBoolean(row.getDescription() != null);
+                if (row.getDescription() != null) {
+                    out.writeUTF(row.getDescription());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the expenses of all blocks of an archive file, keeping only the rows that match the filter.
+     *
+     * @param file   The file to read
+     * @param userId The user whose expenses to keep, or null to keep all users
+     * @param from   The first date to keep, inclusive
+     * @param to     The last date to keep, inclusive
+     * @return The matching expenses, sorted by user and date within each block
+     * @throws IOException if the file cannot be read or is not an archive file
+     */
+    static List<Expense> read(File file, Long userId, LocalDate from, LocalDate to) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE), BUFFER_SIZE))) {
+            List<Expense> expenses = new ArrayList<>();
+            for (int first = in.read(); first != -1; first = in.read()) {
+                int magic = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+                if (magic != MAGIC) {
+                    throw new IOException("Unsupported archive file: " + file);
+                }
+                readBlock(in, file, userId, from, to, expenses);
+            }
+            return expenses;
+        }
+    }
+
+    /**
+     * Reads one block after its magic number, appending the rows that match the filter.
+     */
+    private static void readBlock(DataInputStream in, File file, Long userId, LocalDate from, LocalDate to,
+                                  List<Expense> expenses) throws IOException {
+        int version = in.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported archive file version " + version + ": " + file);
+        }
+        int size = in.readInt();
+        long[] ids = new long[size];
+        long[] userIds = new long[size];
+        int[] epochDays = new int[size];
+        long[] amounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = in.readLong();
+        }
+        for (int i = 0; i < size; i++) {
+            userIds[i] = in.readLong();
+        }
+        for (int i = 0; i < size; i++) {
+            epochDays[i] = in.readInt();
+        }
+        for (int i = 0; i < size; i++) {
+            amounts[i] = in.readLong();
+        }
+
+        String[] categories = readDictionaryColumn(in, size);
+        String[] currencies = version >= 2 ? readDictionaryColumn(in, size) : null;
+
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        for (int i = 0; i < size; i++) {
+            String description = in.readBoolean() ? in.readUTF() : null;
+            if ((userId != null && userIds[i] != userId) || epochDays[i] < fromDay || epochDays[i] > toDay) {
+                continue;
+            }
+            Expense expense = new Expense();
+            expense.setId(ids[i]);
+            expense.setUserId(userIds[i]);
+            expense.setExpenseDate(LocalDate.ofEpochDay(epochDays[i]));
+            expense.setAmount(BigDecimal.valueOf(amounts[i], AMOUNT_SCALE));
+            expense.setCategory(categories[i]);
+            expense.setCurrency(currencies != null ? currencies[i] : LEGACY_CURRENCY);
+            expense.setDescription(description);
+            expenses.add(expense);
+        }
+    }
+
+    /**
+     * Writes a string column as a dictionary of distinct values followed by one dictionary index per row.
+     */
+    private static void writeDictionaryColumn(DataOutputStream out, List<String> values) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String value : values) {
+            dictionary.putIfAbsent(value, dictionary.size());
+        }
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            out.writeUTF(value);
+        }
+        for (String value : values) {
+            out.writeInt(dictionary.get(value));
+        }
+    }
+
+    /**
+     * Reads a column written by {@link #writeDictionaryColumn}, sharing one String instance per distinct value.
+     */
+    private static String[] readDictionaryColumn(DataInputStream in, int size) throws IOException {
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = dictionary[in.readInt()];
+        }
+        return values;
+    }
+}
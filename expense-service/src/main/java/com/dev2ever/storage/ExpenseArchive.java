@@ -0,0 +1,157 @@
+package com.dev2ever.storage;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.Expense;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cold storage tier for expenses. Each archived month is kept as one or more compressed columnar files
+ * ({@code expenses-yyyy-MM.col.gz}, then {@code expenses-yyyy-MM.2.col.gz} and so on), one per archived page,
+ * and the catalog of archived months and their files is held in memory so queries only open the files that
+ * overlap the requested date range.
+ */
+@ApplicationScoped
+public class ExpenseArchive {
+
+    private static final String FILE_PREFIX = "expenses-";
+    private static final String FILE_SUFFIX = ".col.gz";
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(ExpenseArchive.class);
+
+    private final NavigableMap<YearMonth, List<Path>> archivedMonths = new ConcurrentSkipListMap<>();
+
+    private Path directory;
+
+    /**
+     * Creates the archive directory if needed and loads the catalog of archived months from its file names.
+     */
+    @PostConstruct
+    void init() {
+        directory = StorageSettings.fromSystemProperties().archiveDirectory();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String month = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+                    int part = month.indexOf('.');
+                    try {
+                        catalog(YearMonth.parse(part < 0 ? month : month.substring(0, part))).add(file);
+                    } catch (DateTimeParseException e) {
+                        logger.warn("Ignoring unexpected file in expense archive: {}", name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open expense archive directory " + directory, e);
+        }
+        logger.info("Expense archive at {} holds {} month(s).", directory, archivedMonths.size());
+    }
+
+    /**
+     * Checks whether a month has been moved to the archive.
+     *
+     * @param month The month to check
+     * @return true if an archive file exists for the month, false otherwise
+     */
+    public boolean isArchived(YearMonth month) {
+        return archivedMonths.containsKey(month);
+    }
+
+    /**
+     * Retrieves the archived expenses of a user within a date range.
+     *
+     * @param userId The ID of the user who owns the expenses
+     * @param from   The first date of the range, inclusive
+     * @param to     The last date of the range, inclusive
+     * @return List of the archived expenses in the range; empty if no archived month overlaps it
+     * @throws UncheckedIOException if an archive file cannot be read
+     */
+    public List<Expense> findByUserAndDateRange(Long userId, LocalDate from, LocalDate to) {
+        List<Expense> expenses = new ArrayList<>();
+        for (List<Path> files : archivedMonths.subMap(YearMonth.from(from), true, YearMonth.from(to), true).values()) {
+            for (Path file : files) {
+                expenses.addAll(read(file, userId, from, to));
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Archives one page of expenses of a month as a new file of that month. The file is written and synced under
+     * a temporary name and then moved into place atomically, so once this returns the page is durably archived
+     * and its rows can be deleted, and readers never see a partially written file.
+     *
+     * @param month    The month the expenses belong to
+     * @param expenses The expenses to archive; an empty list is ignored
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized void appendPage(YearMonth month, List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        List<Path> files = archivedMonths.getOrDefault(month, List.of());
+        Path target = fileOf(month, files.size() + 1);
+        for (int part = files.size() + 2; Files.exists(target); part++) {
+            target = fileOf(month, part);
+        }
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                ArchiveCodec.writeBlock(out, expenses);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            catalog(month).add(target);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // the next attempt truncates it
+            }
+            throw new UncheckedIOException("Cannot write expense archive for " + month, e);
+        }
+    }
+
+    private List<Path> catalog(YearMonth month) {
+        return archivedMonths.computeIfAbsent(month, m -> new CopyOnWriteArrayList<>());
+    }
+
+    private List<Expense> read(Path path, Long userId, LocalDate from, LocalDate to) {
+        File file = path.toFile();
+        try {
+            return ArchiveCodec.read(file, userId, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read expense archive " + file, e);
+        }
+    }
+
+    private Path fileOf(YearMonth month, int part) {
+        return directory.resolve(FILE_PREFIX + month + (part > 1 ? "." + part : "") + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,232 @@
+package com.dev2ever.storage;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.Expense;
+import com.dev2ever.repository.ExpenseRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Manages the monthly range partitions of the "expenses" table and moves cold months to the {@link ExpenseArchive}.
+ * <p>
+ * On PostgreSQL the table is declared with {@code PARTITION BY RANGE (expense_date)} and one partition
+ * ({@code expenses_yYYYYmMM}) is created per month: at startup for the current and upcoming months, and on
+ * demand when an expense is saved for a month without a partition. Other databases, such as the H2 instance
+ * used in development, keep a single table and only take part in archiving.
+ * <p>
+ * Once a day, months older than the hot window are written to the archive, their rows are deleted and
+ * their now-empty partitions are dropped, so the hot table and its indexes only cover recent data.
+ */
+@ApplicationScoped
+public class ExpensePartitionManager {
+
+    private static final String TABLE = "expenses";
+    private static final int ARCHIVE_PAGE_SIZE = 10_000;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+
+    private static final String CREATE_SEQUENCE = "CREATE SEQUENCE IF NOT EXISTS expense_seq INCREMENT BY 50";
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS expenses (
+                id BIGINT NOT NULL,
+                user_id BIGINT NOT NULL,
+                amount NUMERIC(19, 2) NOT NULL,
+                currency VARCHAR(3) NOT NULL,
+                category VARCHAR(100) NOT NULL,
+                description VARCHAR(255),
+                expense_date DATE NOT NULL,
+                PRIMARY KEY (id, expense_date)
+            )""";
+    private static final String PARTITION_CLAUSE = " PARTITION BY RANGE (expense_date)";
+    private static final String ADD_CURRENCY = "ALTER TABLE expenses ADD COLUMN IF NOT EXISTS currency VARCHAR(3) " +
+            "NOT NULL DEFAULT '" + ArchiveCodec.LEGACY_CURRENCY + "'";
+    private static final String CREATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_expenses_user_date ON expenses (user_id, expense_date)";
+    private static final String IS_PARTITIONED = "SELECT 1 FROM pg_partitioned_table p " +
+            "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = '" + TABLE + "'";
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(ExpensePartitionManager.class);
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    @Resource(lookup = "java:jboss/datasources/ExpenseDS")
+    private DataSource dataSource;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    @Inject
+    private ExpenseRepository expenseRepository;
+
+    @Inject
+    private ExpenseArchive expenseArchive;
+
+    private StorageSettings settings;
+
+    private volatile boolean partitioned;
+
+    private ScheduledFuture<?> maintenanceTask;
+
+    /**
+     * Creates the "expenses" table, its index and the {@code expense_seq} sequence if they do not exist yet.
+     * On PostgreSQL the table is partitioned; other databases get a single table. Called by the startup
+     * hook right after the schema migrations, before any bean touches the table.
+     */
+    public void prepareTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_SEQUENCE);
+                statement.execute(postgres ? CREATE_TABLE + PARTITION_CLAUSE : CREATE_TABLE);
+                // Tables created before expenses had a currency get the column, holding the legacy currency.
+                statement.execute(ADD_CURRENCY);
+                statement.execute(CREATE_INDEX);
+                if (postgres) {
+                    try (ResultSet resultSet = statement.executeQuery(IS_PARTITIONED)) {
+                        partitioned = resultSet.next();
+                    }
+                }
+            }
+            if (postgres && !partitioned) {
+                logger.warn("Table {} exists but is not partitioned; partitions are not used.", TABLE);
+            }
+        } catch (SQLException e) {
+            logger.error("Error preparing expense table", e);
+        }
+    }
+
+    /**
+     * Schedules the daily maintenance when the application starts; its first run happens right away
+     * in the background.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        settings = StorageSettings.fromSystemProperties();
+        maintenanceTask = scheduler.scheduleAtFixedRate(this::runMaintenance, 0, 1, TimeUnit.DAYS);
+    }
+
+    /**
+     * Cancels the scheduled maintenance when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (maintenanceTask != null) {
+            maintenanceTask.cancel(false);
+        }
+    }
+
+    /**
+     * Makes sure a partition exists for the given month. Months already known to have a partition
+     * return immediately, so this is cheap to call on every write. The partition is created in its own
+     * transaction so it survives a rollback of the caller's insert.
+     *
+     * @param month The month that needs a partition
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void ensurePartition(YearMonth month) {
+        if (!partitioned || knownPartitions.contains(month)) {
+            return;
+        }
+        String sql = "CREATE TABLE IF NOT EXISTS " + partitionOf(month) + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            knownPartitions.add(month);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create partition for " + month, e);
+        }
+    }
+
+    /**
+     * Creates the partitions of the current and upcoming months and archives every month that has
+     * fallen out of the hot window. Errors are logged so a failed run does not cancel the schedule.
+     */
+    public void runMaintenance() {
+        try {
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= settings.monthsAhead(); i++) {
+                ensurePartition(current.plusMonths(i));
+            }
+
+            YearMonth firstHotMonth = current.minusMonths(settings.hotMonths() - 1L);
+            Optional<LocalDate> oldest = expenseRepository.findOldestExpenseDate();
+            while (oldest.isPresent() && YearMonth.from(oldest.get()).isBefore(firstHotMonth)) {
+                archiveMonth(YearMonth.from(oldest.get()));
+                oldest = expenseRepository.findOldestExpenseDate();
+            }
+        } catch (Exception e) {
+            logger.error("Error during expense storage maintenance", e);
+        }
+    }
+
+    /**
+     * Moves one month from the database to the archive. The month's rows are read one page of
+     * {@link #ARCHIVE_PAGE_SIZE} rows at a time; each page is archived as a file of its own and its rows are
+     * deleted once that file is in place, so memory use does not grow with the month's size. Only the archived
+     * rows are deleted, and the partition is dropped only once it is empty, so a concurrent late insert is never
+     * lost. If a deletion fails after its page was archived, the rows are archived again by the next run;
+     * readers ignore the duplicates.
+     *
+     * @param month The month to archive
+     */
+    void archiveMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+        int archived = 0;
+        Long lastId = null;
+        List<Expense> page;
+        do {
+            page = expenseRepository.findPageByDateRange(from, to, lastId, ARCHIVE_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            expenseArchive.appendPage(month, page);
+            archived += expenseRepository.deleteAllByIds(page.stream().map(Expense::getId).toList(), from, to);
+            lastId = page.get(page.size() - 1).getId();
+        } while (page.size() == ARCHIVE_PAGE_SIZE);
+        logger.info("Archived {} expense(s) of {}.", archived, month);
+        dropPartitionIfEmpty(month);
+    }
+
+    private void dropPartitionIfEmpty(YearMonth month) {
+        if (!partitioned) {
+            return;
+        }
+        String partition = partitionOf(month);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT 1 FROM " + partition + " LIMIT 1")) {
+                if (resultSet.next()) {
+                    return;
+                }
+            }
+            statement.execute("DROP TABLE " + partition);
+            knownPartitions.remove(month);
+        } catch (SQLException e) {
+            logger.warn("Could not drop partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    private static String partitionOf(YearMonth month) {
+        return TABLE + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dev2ever.storage;
+
+import java.nio.file.Path;
+
+
+/**
+ * Tunables for expense partitioning and archiving, read from system properties so they can be set
+ * per WildFly instance without rebuilding the WAR.
+ *
+ * @param hotMonths         Number of months, including the current one, kept in the database
+ * @param monthsAhead       Number of future months to pre-create partitions for
+ * @param archiveDirectory  Directory holding the compressed archive files of cold months
+ */
+public record StorageSettings(int hotMonths, int monthsAhead, Path archiveDirectory) {
+
+    /**
+     * Reads the settings from the {@code expense.storage.*} system properties, falling back to
+     * 12 hot months, 3 months ahead, and an {@code expense-archive} directory under the server data directory.
+     *
+     * @return The storage settings of this instance
+     */
+    public static StorageSettings fromSystemProperties() {
+        String dataDirectory = System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir"));
+        return new StorageSettings(
+                Integer.getInteger("expense.storage.hotMonths", 12),
+                Integer.getInteger("expense.storage.monthsAhead", 3),
+                Path.of(System.getProperty("expense.storage.archiveDir", dataDirectory + "/expense-archive")));
+    }
+}
@@ -0,0 +1,40 @@
+-- Creates the budget tables and their id sequences. The expenses table and expense_seq are created by
+-- ExpensePartitionManager, because their layout depends on the database.
+-- IF NOT EXISTS adopts tables left behind by Hibernate schema generation.
+CREATE SEQUENCE IF NOT EXISTS budget_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    user_id        BIGINT         NOT NULL,
+    category       VARCHAR(100)   NOT NULL,
+    monthlyLimit   NUMERIC(19, 2) NOT NULL,
+    currency       VARCHAR(3)     NOT NULL,
+    warningPercent INT            NOT NULL,
+    UNIQUE (user_id, category)
+);
+
+CREATE SEQUENCE IF NOT EXISTS budget_spending_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS budget_spending (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    user_id     BIGINT         NOT NULL,
+    category    VARCHAR(100)   NOT NULL,
+    month_start DATE           NOT NULL,
+    total       NUMERIC(19, 2) NOT NULL,
+    UNIQUE (user_id, category, month_start)
+);
+
+CREATE SEQUENCE IF NOT EXISTS budget_alert_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS budget_alerts (
+    id           BIGINT                   NOT NULL PRIMARY KEY,
+    user_id      BIGINT                   NOT NULL,
+    category     VARCHAR(100)             NOT NULL,
+    month_start  DATE                     NOT NULL,
+    level        VARCHAR(20)              NOT NULL,
+    total        NUMERIC(19, 2)           NOT NULL,
+    monthlyLimit NUMERIC(19, 2)           NOT NULL,
+    createdAt    TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_budget_alerts_user ON budget_alerts (user_id);
@@ -0,0 +1,11 @@
+-- Creates the exchange rate table and its id sequence.
+CREATE SEQUENCE IF NOT EXISTS fx_rate_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS fx_rates (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    base_currency  VARCHAR(3)     NOT NULL,
+    quote_currency VARCHAR(3)     NOT NULL,
+    rate_date      DATE           NOT NULL,
+    rate           NUMERIC(19, 8) NOT NULL,
+    UNIQUE (base_currency, quote_currency, rate_date)
+);
@@ -0,0 +1,21 @@
+-- Creates the recurring expense rule table, its id sequence and the indexes used by the scheduler and per-user queries.
+CREATE SEQUENCE IF NOT EXISTS recurring_rule_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS recurring_rules (
+    id              BIGINT         NOT NULL PRIMARY KEY,
+    user_id         BIGINT         NOT NULL,
+    amount          NUMERIC(19, 2) NOT NULL,
+    currency        VARCHAR(3)     NOT NULL,
+    category        VARCHAR(100)   NOT NULL,
+    description     VARCHAR(255),
+    frequency       VARCHAR(10)    NOT NULL,
+    interval_count  INT            NOT NULL,
+    start_date      DATE           NOT NULL,
+    end_date        DATE,
+    next_occurrence BIGINT         NOT NULL,
+    next_due        DATE,
+    version         BIGINT         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_rules_next_due ON recurring_rules (next_due, id);
+CREATE INDEX IF NOT EXISTS idx_recurring_rules_user ON recurring_rules (user_id);
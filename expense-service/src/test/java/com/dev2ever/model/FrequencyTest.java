@@ -0,0 +1,45 @@
+package com.dev2ever.model;
+
+import junit.framework.TestCase;
+
+import java.time.LocalDate;
+
+/**
+ * Unit tests for the occurrence dates of {@link Frequency}.
+ */
+public class FrequencyTest extends TestCase {
+
+    public void testFirstOccurrenceIsStartDate() {
+        LocalDate start = LocalDate.of(2026, 3, 15);
+        for (Frequency frequency : Frequency.values()) {
+            assertEquals(start, frequency.occurrence(start, 3, 0));
+        }
+    }
+
+    public void testDaily() {
+        assertEquals(LocalDate.of(2026, 3, 1), Frequency.DAILY.occurrence(LocalDate.of(2026, 2, 27), 1, 2));
+    }
+
+    public void testWeeklyWithInterval() {
+        LocalDate start = LocalDate.of(2026, 1, 16);
+        assertEquals(LocalDate.of(2026, 1, 30), Frequency.WEEKLY.occurrence(start, 2, 1));
+        assertEquals(LocalDate.of(2026, 2, 13), Frequency.WEEKLY.occurrence(start, 2, 2));
+    }
+
+    public void testMonthlyClampsToShortMonthsAndReturns() {
+        LocalDate start = LocalDate.of(2026, 1, 31);
+        assertEquals(LocalDate.of(2026, 2, 28), Frequency.MONTHLY.occurrence(start, 1, 1));
+        assertEquals(LocalDate.of(2026, 3, 31), Frequency.MONTHLY.occurrence(start, 1, 2));
+        assertEquals(LocalDate.of(2026, 4, 30), Frequency.MONTHLY.occurrence(start, 1, 3));
+    }
+
+    public void testQuarterly() {
+        assertEquals(LocalDate.of(2027, 1, 10), Frequency.MONTHLY.occurrence(LocalDate.of(2026, 1, 10), 3, 4));
+    }
+
+    public void testYearlyFromLeapDay() {
+        LocalDate start = LocalDate.of(2024, 2, 29);
+        assertEquals(LocalDate.of(2025, 2, 28), Frequency.YEARLY.occurrence(start, 1, 1));
+        assertEquals(LocalDate.of(2028, 2, 29), Frequency.YEARLY.occurrence(start, 1, 4));
+    }
+}
@@ -0,0 +1,99 @@
+package com.dev2ever.recurring;
+
+import junit.framework.TestCase;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the day-slotted {@link DueIndex}.
+ */
+public class DueIndexTest extends TestCase {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 30);
+
+    public void testRejectsEmptyHorizon() {
+        try {
+            new DueIndex(0, TODAY);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    public void testHorizonEndIncludesToday() {
+        assertEquals(TODAY.plusDays(6), new DueIndex(7, TODAY).horizonEnd());
+        assertEquals(TODAY, new DueIndex(1, TODAY).horizonEnd());
+    }
+
+    public void testOverdueAndTodayAreDueImmediately() {
+        DueIndex index = new DueIndex(7, TODAY);
+        assertTrue(index.add(1, TODAY.minusDays(40)));
+        assertTrue(index.add(2, TODAY));
+        assertEquals(Arrays.asList(1L, 2L), sorted(index.pollDue(10)));
+        assertEquals(0, index.pollDue(10).length);
+    }
+
+    public void testRulesBeyondHorizonAreNotIndexed() {
+        DueIndex index = new DueIndex(7, TODAY);
+        assertTrue(index.add(1, TODAY.plusDays(6)));
+        assertFalse(index.add(2, TODAY.plusDays(7)));
+        assertFalse(new DueIndex(1, TODAY).add(3, TODAY.plusDays(1)));
+        assertEquals(1, index.size());
+    }
+
+    public void testAdvanceMovesPassedDaysOntoDueList() {
+        DueIndex index = new DueIndex(7, TODAY);
+        index.add(1, TODAY.plusDays(1));
+        index.add(2, TODAY.plusDays(2));
+        index.add(3, TODAY.plusDays(5));
+        assertEquals(0, index.pollDue(10).length);
+
+        index.advanceTo(TODAY.plusDays(2));
+        assertEquals(Arrays.asList(1L, 2L), sorted(index.pollDue(10)));
+        assertEquals(TODAY.plusDays(8), index.horizonEnd());
+
+        index.advanceTo(TODAY.plusDays(1));
+        assertEquals(0, index.pollDue(10).length);
+        assertEquals(TODAY.plusDays(8), index.horizonEnd());
+    }
+
+    public void testSlotsAreReusedAfterWraparound() {
+        DueIndex index = new DueIndex(3, TODAY);
+        index.add(1, TODAY.plusDays(2));
+        index.advanceTo(TODAY.plusDays(2));
+        assertEquals(Arrays.asList(1L), sorted(index.pollDue(10)));
+        // Same slot as TODAY + 2, one lap later.
+        assertTrue(index.add(2, TODAY.plusDays(4)));
+        index.advanceTo(TODAY.plusDays(3));
+        assertEquals(0, index.pollDue(10).length);
+        index.advanceTo(TODAY.plusDays(4));
+        assertEquals(Arrays.asList(2L), sorted(index.pollDue(10)));
+    }
+
+    public void testAdvanceBeyondHorizonReleasesEverything() {
+        DueIndex index = new DueIndex(3, TODAY);
+        index.add(1, TODAY.plusDays(1));
+        index.add(2, TODAY.plusDays(2));
+        index.advanceTo(TODAY.plusDays(30));
+        assertEquals(Arrays.asList(1L, 2L), sorted(index.pollDue(10)));
+        assertEquals(TODAY.plusDays(32), index.horizonEnd());
+        assertEquals(0, index.size());
+    }
+
+    public void testPollDueReturnsBatches() {
+        DueIndex index = new DueIndex(7, TODAY);
+        for (long id = 1; id <= 2500; id++) {
+            index.add(id, TODAY);
+        }
+        assertEquals(1000, index.pollDue(1000).length);
+        assertEquals(1000, index.pollDue(1000).length);
+        assertEquals(500, index.pollDue(1000).length);
+        assertEquals(0, index.pollDue(1000).length);
+    }
+
+    private static List<Long> sorted(long[] ids) {
+        return Arrays.stream(ids).sorted().boxed().toList();
+    }
+}
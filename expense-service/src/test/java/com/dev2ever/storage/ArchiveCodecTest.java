@@ -0,0 +1,128 @@
+package com.dev2ever.storage;
+
+import com.dev2ever.model.Expense;
+import junit.framework.TestCase;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Round-trip tests for the archive file format of {@link ArchiveCodec}.
+ */
+public class ArchiveCodecTest extends TestCase {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = File.createTempFile("expenses-", ".col.gz");
+    }
+
+    @Override
+    protected void tearDown() {
+        file.delete();
+    }
+
+    public void testRoundTripKeepsCurrency() throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            ArchiveCodec.writeBlock(out, List.of(
+                    expense(2L, 7L, LocalDate.of(2025, 1, 20), "12.50", "EUR", "food", null),
+                    expense(1L, 7L, LocalDate.of(2025, 1, 3), "3.05", "JPY", "travel", "train")));
+        }
+
+        List<Expense> expenses = ArchiveCodec.read(file, null, FROM, TO);
+
+        assertEquals(2, expenses.size());
+        Expense first = expenses.get(0);
+        assertEquals(Long.valueOf(1L), first.getId());
+        assertEquals(Long.valueOf(7L), first.getUserId());
+        assertEquals(LocalDate.of(2025, 1, 3), first.getExpenseDate());
+        assertEquals(new BigDecimal("3.05"), first.getAmount());
+        assertEquals("JPY", first.getCurrency());
+        assertEquals("travel", first.getCategory());
+        assertEquals("train", first.getDescription());
+        Expense second = expenses.get(1);
+        assertEquals(Long.valueOf(2L), second.getId());
+        assertEquals("EUR", second.getCurrency());
+        assertEquals("food", second.getCategory());
+        assertNull(second.getDescription());
+    }
+
+    public void testVersionOneBlockIsReadAsLegacyCurrency() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(0x45585041);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeLong(5L);
+            out.writeLong(9L);
+            out.writeInt((int) LocalDate.of(2025, 1, 10).toEpochDay());
+            out.writeLong(4200L);
+            out.writeInt(1);
+            out.writeUTF("rent");
+            out.writeInt(0);
+            out.writeBoolean(false);
+        }
+
+        List<Expense> expenses = ArchiveCodec.read(file, null, FROM, TO);
+
+        assertEquals(1, expenses.size());
+        assertEquals(Long.valueOf(5L), expenses.get(0).getId());
+        assertEquals(new BigDecimal("42.00"), expenses.get(0).getAmount());
+        assertEquals("rent", expenses.get(0).getCategory());
+        assertEquals(ArchiveCodec.LEGACY_CURRENCY, expenses.get(0).getCurrency());
+    }
+
+    public void testReadsEveryGzipMemberOfAFile() throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            ArchiveCodec.writeBlock(out, List.of(expense(1L, 7L, LocalDate.of(2025, 1, 3), "1.00", "USD", "food", null)));
+            ArchiveCodec.writeBlock(out, List.of(expense(2L, 7L, LocalDate.of(2025, 1, 4), "2.00", "EUR", "food", null)));
+            ArchiveCodec.writeBlock(out, List.of(expense(3L, 8L, LocalDate.of(2025, 1, 5), "3.00", "GBP", "fuel", null)));
+        }
+
+        List<Expense> expenses = ArchiveCodec.read(file, null, FROM, TO);
+
+        assertEquals(3, expenses.size());
+        assertEquals(Long.valueOf(1L), expenses.get(0).getId());
+        assertEquals(Long.valueOf(2L), expenses.get(1).getId());
+        assertEquals("EUR", expenses.get(1).getCurrency());
+        assertEquals(Long.valueOf(3L), expenses.get(2).getId());
+        assertEquals("GBP", expenses.get(2).getCurrency());
+    }
+
+    public void testReadFiltersByUserAndDate() throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            ArchiveCodec.writeBlock(out, List.of(
+                    expense(1L, 7L, LocalDate.of(2025, 1, 3), "1.00", "USD", "food", null),
+                    expense(2L, 8L, LocalDate.of(2025, 1, 4), "2.00", "USD", "food", null),
+                    expense(3L, 7L, LocalDate.of(2025, 1, 25), "3.00", "USD", "food", null)));
+        }
+
+        List<Expense> expenses = ArchiveCodec.read(file, 7L, FROM, LocalDate.of(2025, 1, 10));
+
+        assertEquals(1, expenses.size());
+        assertEquals(Long.valueOf(1L), expenses.get(0).getId());
+    }
+
+    private static Expense expense(Long id, Long userId, LocalDate date, String amount, String currency,
+                                   String category, String description) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setUserId(userId);
+        expense.setExpenseDate(date);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCurrency(currency);
+        expense.setCategory(category);
+        expense.setDescription(description);
+        return expense;
+    }
+}
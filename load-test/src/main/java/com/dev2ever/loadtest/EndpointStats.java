@@ -0,0 +1,53 @@
+package com.dev2ever.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Outcome counters and latency distribution of one operation during the measured part of a run.
+ * A request counts as an error when it fails to complete or its status is not 2xx.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos The time from the request's scheduled start to its completion
+     * @param success      Whether the request succeeded
+     */
+    void record(long latencyNanos, boolean success) {
+        latencies.record(latencyNanos / 1_000);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    long requests() {
+        return latencies.count();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    LatencyHistogram latencies() {
+        return latencies;
+    }
+}
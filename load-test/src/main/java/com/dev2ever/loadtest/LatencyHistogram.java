@@ -0,0 +1,85 @@
+package com.dev2ever.loadtest;
+
+
+/**
+ * Fixed-size, log-linear latency histogram in microseconds.
+ * Every power of two is split into 128 linear sub-buckets, so recorded values keep a relative error below 1%
+ * from one microsecond up to centuries, in 64 KB of counters and without allocating per sample.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 << SUB_BUCKET_BITS];
+    private long total;
+    private long max;
+
+    /**
+     * Records one latency sample.
+     *
+     * @param micros The latency in microseconds; negative values are recorded as zero
+     */
+    synchronized void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return The sample count
+     */
+    synchronized long count() {
+        return total;
+    }
+
+    /**
+     * Returns the largest recorded sample.
+     *
+     * @return The maximum latency in microseconds
+     */
+    synchronized long max() {
+        return max;
+    }
+
+    /**
+     * Returns the latency at or below which the given fraction of samples fall.
+     *
+     * @param percentile The percentile as a fraction, e.g. 0.99
+     * @return The latency in microseconds, or 0 if nothing was recorded
+     */
+    synchronized long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
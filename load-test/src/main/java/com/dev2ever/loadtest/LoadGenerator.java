@@ -0,0 +1,113 @@
+package com.dev2ever.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Sends the operation mix of a {@link LoadProfile} at a fixed request rate.
+ * <p>
+ * The generator is open-loop: request {@code i} is scheduled at {@code start + i / rate} whether or not earlier
+ * requests have completed, and latency is measured from that scheduled time. When the services fall behind and
+ * the concurrency limit is reached, the queueing delay therefore shows up in the latencies instead of silently
+ * lowering the offered load. Requests scheduled during the warm-up are sent but not recorded.
+ */
+final class LoadGenerator {
+
+    /**
+     * The recorded statistics of a run.
+     *
+     * @param endpoints       The statistics per operation, in profile order
+     * @param measuredSeconds The length of the measured part of the run
+     */
+    record Result(List<EndpointStats> endpoints, double measuredSeconds) {
+    }
+
+    private final LoadProfile profile;
+    private final String token;
+
+    LoadGenerator(LoadProfile profile, String token) {
+        this.profile = profile;
+        this.token = token;
+    }
+
+    /**
+     * Runs the warm-up and the measured period, then waits for outstanding requests.
+     *
+     * @return The recorded statistics
+     * @throws InterruptedException if the run is interrupted
+     */
+    Result run() throws InterruptedException {
+        List<Operation> operations = profile.operations();
+        int[] cumulativeWeights = new int[operations.size()];
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+            stats.put(operations.get(i).name(), new EndpointStats(operations.get(i).name()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(profile.requestTimeoutSeconds()))
+                .build();
+        int maxConcurrency = profile.maxConcurrency();
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / profile.requestsPerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(profile.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(profile.durationSeconds());
+        try {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                inFlight.acquire();
+
+                int pick = Arrays.binarySearch(cumulativeWeights, ThreadLocalRandom.current().nextInt(totalWeight) + 1);
+                Operation operation = operations.get(pick >= 0 ? pick : -pick - 1);
+                EndpointStats endpoint = stats.get(operation.name());
+                client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            if (scheduled >= measureFrom) {
+                                endpoint.record(System.nanoTime() - scheduled,
+                                        error == null && response.statusCode() / 100 == 2);
+                            }
+                        });
+            }
+            inFlight.tryAcquire(maxConcurrency, profile.requestTimeoutSeconds() + 5L, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(List.copyOf(stats.values()), profile.durationSeconds());
+    }
+
+    private HttpRequest request(Operation operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(operation.url().render()))
+                .timeout(Duration.ofSeconds(profile.requestTimeoutSeconds()))
+                .header("Accept", "application/json")
+                .header("Authorization", "Bearer " + token);
+        if (operation.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(operation.method(), HttpRequest.BodyPublishers.ofString(operation.body().render()));
+        } else {
+            builder.method(operation.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
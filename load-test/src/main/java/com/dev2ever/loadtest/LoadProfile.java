@@ -0,0 +1,221 @@
+package com.dev2ever.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The configuration of a load test run, read from a properties file. System properties with the same keys
+ * override the file, e.g. {@code -Drun.requestsPerSecond=500}. Property values may refer to other properties
+ * as {@code ${key}}, which is how operation URLs share the {@code baseUrl.*} settings.
+ * See {@code load-profile.properties} for the available keys.
+ */
+final class LoadProfile {
+
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{([A-Za-z][\\w.-]*)}");
+    private static final List<String> PREFIXES = List.of("run.", "stub.", "token.", "baseUrl.", "op.", "threshold.", "baseline.", "report.");
+
+    private final OrderedProperties properties;
+    private final List<Operation> operations;
+
+    private LoadProfile(OrderedProperties properties) {
+        this.properties = properties;
+        this.operations = readOperations();
+    }
+
+    /**
+     * Loads a profile from a file, or from the bundled {@code load-profile.properties} when no file is given.
+     *
+     * @param file The profile file, or null for the bundled default
+     * @return The loaded profile
+     * @throws IOException if the profile cannot be read
+     * @throws IllegalArgumentException if the profile is invalid
+     */
+    static LoadProfile load(Path file) throws IOException {
+        OrderedProperties properties = new OrderedProperties();
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = LoadProfile.class.getResourceAsStream("/load-profile.properties")) {
+                if (in == null) {
+                    throw new IOException("Bundled load-profile.properties not found");
+                }
+                properties.load(in);
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (PREFIXES.stream().anyMatch(key::startsWith)) {
+                properties.setProperty(key, System.getProperty(key));
+            }
+        }
+        return new LoadProfile(properties);
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    int durationSeconds() {
+        return intValue("run.durationSeconds", 60);
+    }
+
+    int warmupSeconds() {
+        return intValue("run.warmupSeconds", 10);
+    }
+
+    int requestsPerSecond() {
+        return intValue("run.requestsPerSecond", 100);
+    }
+
+    int maxConcurrency() {
+        return intValue("run.maxConcurrency", 64);
+    }
+
+    int requestTimeoutSeconds() {
+        return intValue("run.requestTimeoutSeconds", 10);
+    }
+
+    boolean stubEnabled() {
+        return Boolean.parseBoolean(value("stub.enabled", "true"));
+    }
+
+    int stubPort() {
+        return intValue("stub.port", 8180);
+    }
+
+    String stubRealm() {
+        return value("stub.realm", "expense-tracker");
+    }
+
+    List<String> stubAudiences() {
+        return List.of(value("stub.audiences", "user-service-api,expense-service-api").split("\\s*,\\s*"));
+    }
+
+    /**
+     * Returns a fixed bearer token to use instead of one issued by the stub, e.g. a real Keycloak token.
+     *
+     * @return The configured token, or null if the stub should issue one
+     */
+    String token() {
+        return properties.getProperty("token.value");
+    }
+
+    double p99LimitMs(String operation) {
+        return doubleValue("threshold." + operation + ".p99Ms", doubleValue("threshold.default.p99Ms", Double.MAX_VALUE));
+    }
+
+    double p999LimitMs(String operation) {
+        return doubleValue("threshold." + operation + ".p999Ms", doubleValue("threshold.default.p999Ms", Double.MAX_VALUE));
+    }
+
+    double errorRateLimit(String operation) {
+        return doubleValue("threshold." + operation + ".errorRate", doubleValue("threshold.default.errorRate", 1));
+    }
+
+    double minThroughput() {
+        return doubleValue("threshold.minThroughput", 0);
+    }
+
+    /**
+     * Returns the results file of an earlier run to compare against.
+     *
+     * @return The baseline file, or null if regressions should not be checked
+     */
+    Path baselineFile() {
+        String file = properties.getProperty("baseline.file");
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    double regressionTolerance() {
+        return doubleValue("baseline.tolerance", 0.2);
+    }
+
+    Path reportDirectory() {
+        return Path.of(value("report.dir", "target/load-test"));
+    }
+
+    private List<Operation> readOperations() {
+        Set<String> names = new LinkedHashSet<>();
+        for (String key : properties.orderedKeys()) {
+            if (key.startsWith("op.") && key.endsWith(".url")) {
+                names.add(key.substring(3, key.length() - 4));
+            }
+        }
+        List<Operation> result = new ArrayList<>();
+        for (String name : names) {
+            int weight = intValue("op." + name + ".weight", 1);
+            if (weight <= 0) {
+                continue;
+            }
+            String body = resolved("op." + name + ".body");
+            result.add(new Operation(name, weight,
+                    value("op." + name + ".method", "GET").toUpperCase(Locale.ROOT),
+                    RequestTemplate.compile(resolved("op." + name + ".url")),
+                    body != null ? RequestTemplate.compile(body) : null));
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("The load profile defines no operations with a positive weight.");
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Returns a property value with references to other properties substituted; unknown references,
+     * such as template placeholders, are left in place.
+     */
+    private String resolved(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = REFERENCE.matcher(value);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            String referenced = properties.getProperty(matcher.group(1));
+            matcher.appendReplacement(out, Matcher.quoteReplacement(referenced != null ? referenced : matcher.group()));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private String value(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue).strip();
+    }
+
+    private int intValue(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.strip());
+    }
+
+    private double doubleValue(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.strip());
+    }
+
+    /**
+     * Properties that remember the order in which keys were first set, so operations keep their profile order.
+     */
+    private static final class OrderedProperties extends Properties {
+
+        private final Set<String> keys = new LinkedHashSet<>();
+
+        @Override
+        public synchronized Object put(Object key, Object value) {
+            keys.add((String) key);
+            return super.put(key, value);
+        }
+
+        Set<String> orderedKeys() {
+            return keys;
+        }
+    }
+}
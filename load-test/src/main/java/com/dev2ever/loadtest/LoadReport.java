@@ -0,0 +1,147 @@
+package com.dev2ever.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+
+/**
+ * Summarises a run per operation (throughput, error rate, p50/p99/p999 latency), checks it against the
+ * profile's thresholds and, when configured, against the results of a baseline run.
+ * <p>
+ * The results are also written as {@code results.properties} in the report directory; copying that file
+ * to the baseline location makes the current run the reference for later ones.
+ */
+final class LoadReport {
+
+    private final LoadProfile profile;
+    private final LoadGenerator.Result result;
+
+    LoadReport(LoadProfile profile, LoadGenerator.Result result) {
+        this.profile = profile;
+        this.result = result;
+    }
+
+    /**
+     * Formats the run as a table with one row per operation and a total row.
+     *
+     * @return The formatted report
+     */
+    String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-22s %9s %9s %8s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        long requests = 0;
+        long errors = 0;
+        for (EndpointStats endpoint : result.endpoints()) {
+            LatencyHistogram latencies = endpoint.latencies();
+            out.append(String.format(Locale.ROOT, "%-22s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.name(), endpoint.requests(), throughput(endpoint), endpoint.errorRate() * 100,
+                    millis(latencies.percentile(0.50)), millis(latencies.percentile(0.99)),
+                    millis(latencies.percentile(0.999)), millis(latencies.max())));
+            requests += endpoint.requests();
+            errors += endpoint.errors();
+        }
+        out.append(String.format(Locale.ROOT, "%-22s %9d %9.1f %7.2f%%%n", "total", requests,
+                requests / result.measuredSeconds(), requests == 0 ? 0 : errors * 100.0 / requests));
+        return out.toString();
+    }
+
+    /**
+     * Checks the run against the thresholds and the baseline.
+     *
+     * @return One message per violated threshold; empty if the run passed
+     * @throws IOException if the baseline file cannot be read
+     */
+    List<String> violations() throws IOException {
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        for (EndpointStats endpoint : result.endpoints()) {
+            String name = endpoint.name();
+            requests += endpoint.requests();
+            check(violations, name + " p99", millis(endpoint.latencies().percentile(0.99)), profile.p99LimitMs(name), "ms");
+            check(violations, name + " p999", millis(endpoint.latencies().percentile(0.999)), profile.p999LimitMs(name), "ms");
+            check(violations, name + " error rate", endpoint.errorRate(), profile.errorRateLimit(name), "");
+        }
+        double throughput = requests / result.measuredSeconds();
+        if (throughput < profile.minThroughput()) {
+            violations.add(String.format(Locale.ROOT, "total throughput %.1f req/s is below %.1f req/s",
+                    throughput, profile.minThroughput()));
+        }
+
+        Path baselineFile = profile.baselineFile();
+        if (baselineFile != null && Files.exists(baselineFile)) {
+            Properties baseline = new Properties();
+            try (Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+            double tolerance = profile.regressionTolerance();
+            for (EndpointStats endpoint : result.endpoints()) {
+                String previous = baseline.getProperty(endpoint.name() + ".p99Ms");
+                if (previous != null) {
+                    check(violations, endpoint.name() + " p99 against baseline",
+                            millis(endpoint.latencies().percentile(0.99)), Double.parseDouble(previous) * (1 + tolerance), "ms");
+                }
+            }
+            String previousThroughput = baseline.getProperty("total.throughput");
+            if (previousThroughput != null && throughput < Double.parseDouble(previousThroughput) * (1 - tolerance)) {
+                violations.add(String.format(Locale.ROOT, "total throughput %.1f req/s regressed from baseline %s req/s",
+                        throughput, previousThroughput));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Writes the formatted report and the machine-readable results to the report directory.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    void write() throws IOException {
+        Path directory = profile.reportDirectory();
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.txt"), format(), StandardCharsets.UTF_8);
+
+        Properties results = new Properties();
+        long requests = 0;
+        for (EndpointStats endpoint : result.endpoints()) {
+            LatencyHistogram latencies = endpoint.latencies();
+            results.setProperty(endpoint.name() + ".requests", Long.toString(endpoint.requests()));
+            results.setProperty(endpoint.name() + ".throughput", number(throughput(endpoint)));
+            results.setProperty(endpoint.name() + ".errorRate", number(endpoint.errorRate()));
+            results.setProperty(endpoint.name() + ".p50Ms", number(millis(latencies.percentile(0.50))));
+            results.setProperty(endpoint.name() + ".p99Ms", number(millis(latencies.percentile(0.99))));
+            results.setProperty(endpoint.name() + ".p999Ms", number(millis(latencies.percentile(0.999))));
+            requests += endpoint.requests();
+        }
+        results.setProperty("total.throughput", number(requests / result.measuredSeconds()));
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("results.properties"), StandardCharsets.UTF_8)) {
+            results.store(writer, "Load test results");
+        }
+    }
+
+    private double throughput(EndpointStats endpoint) {
+        return endpoint.requests() / result.measuredSeconds();
+    }
+
+    private static void check(List<String> violations, String metric, double actual, double limit, String unit) {
+        if (actual > limit) {
+            violations.add(String.format(Locale.ROOT, "%s %.3f%s exceeds %.3f%s", metric, actual, unit, limit, unit));
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
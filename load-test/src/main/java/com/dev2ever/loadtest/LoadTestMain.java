@@ -0,0 +1,56 @@
+package com.dev2ever.loadtest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+
+/**
+ * Command-line entry point of the load test harness.
+ * <p>
+ * Usage: {@code java com.dev2ever.loadtest.LoadTestMain [profile.properties]}. Without an argument the bundled
+ * {@code load-profile.properties} is used. Unless a fixed {@code token.value} is configured, a
+ * {@link StubTokenIssuer} is started in place of Keycloak for the duration of the run. The process exits with
+ * status 1 when a threshold or the baseline is not met, so the run can gate a build.
+ */
+public class LoadTestMain {
+
+    private static final Logger logger = Logger.getLogger(LoadTestMain.class.getName());
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.load(args.length > 0 ? Path.of(args[0]) : null);
+
+        StubTokenIssuer issuer = null;
+        String token = profile.token();
+        if (token == null && profile.stubEnabled()) {
+            issuer = new StubTokenIssuer(profile.stubPort(), profile.stubRealm(), profile.stubAudiences());
+            token = issuer.issueToken("load-test");
+            logger.info("Stub token issuer listening on port " + profile.stubPort() + ".");
+        }
+        if (token == null) {
+            throw new IllegalArgumentException("Configure token.value or enable the stub token issuer.");
+        }
+
+        LoadGenerator.Result result;
+        try {
+            logger.info("Running " + profile.operations().size() + " operation(s) at " + profile.requestsPerSecond() +
+                    " req/s for " + profile.warmupSeconds() + "s warm-up + " + profile.durationSeconds() + "s.");
+            result = new LoadGenerator(profile, token).run();
+        } finally {
+            if (issuer != null) {
+                issuer.close();
+            }
+        }
+
+        LoadReport report = new LoadReport(profile, result);
+        System.out.print(report.format());
+        report.write();
+
+        List<String> violations = report.violations();
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("FAILED: " + violation));
+            System.exit(1);
+        }
+        System.out.println("All load thresholds met.");
+    }
+}
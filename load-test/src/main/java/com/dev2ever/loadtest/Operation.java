@@ -0,0 +1,14 @@
+package com.dev2ever.loadtest;
+
+
+/**
+ * One kind of request in the traffic mix, picked in proportion to its weight.
+ *
+ * @param name   The name the operation is reported under
+ * @param weight The relative share of requests
+ * @param method The HTTP method
+ * @param url    The request URL
+ * @param body   The JSON request body, or null for requests without one
+ */
+record Operation(String name, int weight, String method, RequestTemplate url, RequestTemplate body) {
+}
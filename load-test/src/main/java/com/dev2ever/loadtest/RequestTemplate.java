@@ -0,0 +1,118 @@
+package com.dev2ever.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A URL or request body with generated values, compiled once so rendering a request only appends
+ * literals and generated values to a buffer.
+ * <p>
+ * Supported placeholders:
+ * <ul>
+ *     <li>{@code ${seq}} - a number unique within the run</li>
+ *     <li>{@code ${run}} - an ID unique to the run; combined with {@code ${seq}} it keeps values such as usernames
+ *     unique across runs against the same database</li>
+ *     <li>{@code ${randomInt:min:max}} - a random integer between min and max, inclusive</li>
+ *     <li>{@code ${pick:a|b|c}} - one of the listed values</li>
+ *     <li>{@code ${today}} - today's date in ISO format</li>
+ *     <li>{@code ${randomDate:days}} - a random ISO date within the last given number of days</li>
+ * </ul>
+ */
+final class RequestTemplate {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final List<Part> parts;
+
+    private RequestTemplate(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param template The template text
+     * @return The compiled template
+     * @throws IllegalArgumentException if a placeholder is unknown or malformed
+     */
+    static RequestTemplate compile(String template) {
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (position < template.length()) {
+            int start = template.indexOf("${", position);
+            if (start < 0) {
+                parts.add(literal(template.substring(position)));
+                break;
+            }
+            int end = template.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in: " + template);
+            }
+            if (start > position) {
+                parts.add(literal(template.substring(position, start)));
+            }
+            parts.add(placeholder(template.substring(start + 2, end)));
+            position = end + 1;
+        }
+        return new RequestTemplate(List.copyOf(parts));
+    }
+
+    /**
+     * Renders the template with freshly generated values.
+     *
+     * @return The rendered text
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(64);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Part part : parts) {
+            part.append(out, random);
+        }
+        return out.toString();
+    }
+
+    private static Part literal(String text) {
+        return (out, random) -> out.append(text);
+    }
+
+    private static Part placeholder(String expression) {
+        String[] fields = expression.split(":", -1);
+        try {
+            switch (fields[0]) {
+                case "seq":
+                    return (out, random) -> out.append(SEQUENCE.incrementAndGet());
+                case "run":
+                    return (out, random) -> out.append(RUN_ID);
+                case "randomInt": {
+                    long min = Long.parseLong(fields[1]);
+                    long max = Long.parseLong(fields[2]);
+                    return (out, random) -> out.append(random.nextLong(min, max + 1));
+                }
+                case "pick": {
+                    String[] values = fields[1].split("\\|");
+                    return (out, random) -> out.append(values[random.nextInt(values.length)]);
+                }
+                case "today":
+                    return (out, random) -> out.append(LocalDate.now());
+                case "randomDate": {
+                    int days = Integer.parseInt(fields[1]);
+                    return (out, random) -> out.append(LocalDate.now().minusDays(random.nextInt(days + 1)));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown placeholder: ${" + expression + "}");
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed placeholder: ${" + expression + "}", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Part {
+        void append(StringBuilder out, ThreadLocalRandom random);
+    }
+}
@@ -0,0 +1,138 @@
+package com.dev2ever.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+
+/**
+ * Minimal stand-in for Keycloak during load tests.
+ * <p>
+ * Serves the OpenID discovery document, the signing key set and a token endpoint for one realm on the port
+ * the services' {@code oidc.json} points at, and issues RS256-signed access tokens carrying the "user" role for
+ * every configured audience. The services validate these tokens exactly as they would Keycloak's, so load tests
+ * need no Keycloak instance and no real user credentials.
+ */
+final class StubTokenIssuer implements AutoCloseable {
+
+    private static final String KEY_ID = "load-test";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final HttpServer server;
+    private final KeyPair keyPair;
+    private final String issuer;
+    private final List<String> audiences;
+
+    /**
+     * Starts the issuer.
+     *
+     * @param port      The port to listen on, usually Keycloak's
+     * @param realm     The realm the services are configured for
+     * @param audiences The client IDs the tokens are issued for
+     * @throws IOException if the port cannot be bound
+     */
+    StubTokenIssuer(int port, String realm, List<String> audiences) throws IOException {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keyPair = generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.issuer = "http://localhost:" + port + "/realms/" + realm;
+        this.audiences = audiences;
+
+        String prefix = "/realms/" + realm;
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(prefix + "/.well-known/openid-configuration", exchange -> respond(exchange, discovery()));
+        server.createContext(prefix + "/protocol/openid-connect/certs", exchange -> respond(exchange, keySet()));
+        server.createContext(prefix + "/protocol/openid-connect/token", exchange -> respond(exchange,
+                "{\"access_token\":\"" + issueToken("load-test") + "\",\"token_type\":\"Bearer\",\"expires_in\":3600}"));
+        server.start();
+    }
+
+    /**
+     * Issues a signed access token valid for one hour.
+     *
+     * @param username The user the token is issued to
+     * @return The encoded JWT
+     */
+    String issueToken(String username) {
+        long now = Instant.now().getEpochSecond();
+        String roles = audiences.stream()
+                .map(audience -> "\"" + audience + "\":{\"roles\":[\"user\"]}")
+                .collect(Collectors.joining(","));
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KEY_ID + "\"}";
+        String payload = "{\"iss\":\"" + issuer + "\"," +
+                "\"sub\":\"" + UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)) + "\"," +
+                "\"aud\":[" + audiences.stream().map(a -> "\"" + a + "\"").collect(Collectors.joining(",")) + "]," +
+                "\"azp\":\"" + audiences.get(0) + "\"," +
+                "\"typ\":\"Bearer\",\"preferred_username\":\"" + username + "\"," +
+                "\"iat\":" + now + ",\"exp\":" + (now + 3600) + "," +
+                "\"realm_access\":{\"roles\":[\"user\"]}," +
+                "\"resource_access\":{" + roles + "}}";
+        String signingInput = encode(header) + "." + encode(payload);
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(keyPair.getPrivate());
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + BASE64_URL.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String discovery() {
+        String endpoints = issuer + "/protocol/openid-connect";
+        return "{\"issuer\":\"" + issuer + "\"," +
+                "\"authorization_endpoint\":\"" + endpoints + "/auth\"," +
+                "\"token_endpoint\":\"" + endpoints + "/token\"," +
+                "\"jwks_uri\":\"" + endpoints + "/certs\"," +
+                "\"id_token_signing_alg_values_supported\":[\"RS256\"]}";
+    }
+
+    private String keySet() {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + KEY_ID + "\"," +
+                "\"n\":\"" + encodeUnsigned(key.getModulus()) + "\",\"e\":\"" + encodeUnsigned(key.getPublicExponent()) + "\"}]}";
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String encode(String json) {
+        return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeUnsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dev2ever.loadtest;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the bucket bounds and percentiles of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.99));
+    }
+
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(50, histogram.percentile(0.5));
+        assertEquals(99, histogram.percentile(0.99));
+        assertEquals(100, histogram.percentile(1.0));
+        assertEquals(1, histogram.percentile(0.0));
+    }
+
+    public void testNegativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    public void testLargeValuesStayWithinOnePercent() {
+        long[] samples = {128, 255, 256, 1_000, 12_345, 999_999, 3_600_000_000L, Long.MAX_VALUE / 2};
+        for (long sample : samples) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(sample);
+            histogram.record(sample * 2 > 0 ? sample * 2 : Long.MAX_VALUE);
+
+            long reported = histogram.percentile(0.5);
+            assertTrue(sample + " reported as " + reported, reported >= sample);
+            assertTrue(sample + " reported as " + reported, reported - sample <= sample / 100);
+        }
+    }
+
+    public void testBucketUpperBoundsAreInclusive() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 256 and 257 share a bucket of width 2; 258 starts the next one.
+        histogram.record(256);
+        histogram.record(258);
+
+        assertEquals(257, histogram.percentile(0.5));
+        assertEquals(258, histogram.percentile(1.0));
+    }
+
+    public void testPercentileNeverExceedsMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.max());
+        assertEquals(1_000_001, histogram.percentile(0.999));
+    }
+
+    public void testTailPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+
+        assertEquals(10, histogram.percentile(0.99));
+        assertEquals(100, histogram.percentile(0.999));
+        assertEquals(5_000, histogram.percentile(1.0));
+    }
+}
@@ -0,0 +1,114 @@
+package com.dev2ever.loadtest;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for reading operations and thresholds from a {@link LoadProfile}.
+ */
+public class LoadProfileTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("load-profile", ".properties");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public void testOperationsKeepProfileOrder() throws IOException {
+        LoadProfile profile = load("""
+                baseUrl.user=http://localhost/user
+                op.zeta.url=${baseUrl.user}/z
+                op.alpha.weight=3
+                op.alpha.method=post
+                op.alpha.url=${baseUrl.user}/a
+                op.alpha.body={"n":"${seq}"}
+                op.mid.url=${baseUrl.user}/m
+                """);
+
+        List<Operation> operations = profile.operations();
+
+        assertEquals(List.of("zeta", "alpha", "mid"), operations.stream().map(Operation::name).toList());
+        Operation alpha = operations.get(1);
+        assertEquals(3, alpha.weight());
+        assertEquals("POST", alpha.method());
+        assertEquals("http://localhost/user/a", alpha.url().render());
+        assertTrue(alpha.body().render().matches("\\{\"n\":\"\\d+\"}"));
+        assertEquals(1, operations.get(0).weight());
+        assertEquals("GET", operations.get(0).method());
+        assertNull(operations.get(0).body());
+    }
+
+    public void testOperationsWithoutWeightAreSkipped() throws IOException {
+        LoadProfile profile = load("""
+                op.off.weight=0
+                op.off.url=http://localhost/off
+                op.on.url=http://localhost/on
+                """);
+
+        assertEquals(List.of("on"), profile.operations().stream().map(Operation::name).toList());
+    }
+
+    public void testProfileWithoutOperationsIsRejected() throws IOException {
+        try {
+            load("op.off.weight=0\nop.off.url=http://localhost/off\n");
+            fail("A profile without operations must be rejected.");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testThresholdsFallBackToDefaults() throws IOException {
+        LoadProfile profile = load("""
+                op.get.url=http://localhost/get
+                threshold.default.p99Ms=250
+                threshold.default.errorRate=0.01
+                threshold.get.p99Ms=80.5
+                threshold.get.errorRate=0
+                threshold.minThroughput=90
+                """);
+
+        assertEquals(80.5, profile.p99LimitMs("get"));
+        assertEquals(250.0, profile.p99LimitMs("other"));
+        assertEquals(Double.MAX_VALUE, profile.p999LimitMs("get"));
+        assertEquals(0.0, profile.errorRateLimit("get"));
+        assertEquals(0.01, profile.errorRateLimit("other"));
+        assertEquals(90.0, profile.minThroughput());
+    }
+
+    public void testRunSettingsAndDefaults() throws IOException {
+        LoadProfile profile = load("""
+                op.get.url=http://localhost/get
+                run.requestsPerSecond= 250
+                stub.audiences=a, b
+                baseline.file=
+                """);
+
+        assertEquals(250, profile.requestsPerSecond());
+        assertEquals(60, profile.durationSeconds());
+        assertEquals(List.of("a", "b"), profile.stubAudiences());
+        assertNull(profile.baselineFile());
+        assertEquals(0.2, profile.regressionTolerance());
+    }
+
+    public void testBundledProfileLoads() throws IOException {
+        LoadProfile profile = LoadProfile.load(null);
+
+        assertFalse(profile.operations().isEmpty());
+        assertEquals("userCreate", profile.operations().get(0).name());
+    }
+
+    private LoadProfile load(String properties) throws IOException {
+        Files.writeString(file, properties, StandardCharsets.UTF_8);
+        return LoadProfile.load(file);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dev2ever.loadtest;
+
+import junit.framework.TestCase;
+
+import java.time.LocalDate;
+
+/**
+ * Tests for the placeholder expansion of {@link RequestTemplate}.
+ */
+public class RequestTemplateTest extends TestCase {
+
+    public void testLiteralIsRenderedUnchanged() {
+        assertEquals("/users/1?x=y", RequestTemplate.compile("/users/1?x=y").render());
+        assertEquals("", RequestTemplate.compile("").render());
+    }
+
+    public void testSequenceIncrementsPerRender() {
+        RequestTemplate template = RequestTemplate.compile("user${seq}");
+
+        long first = Long.parseLong(template.render().substring(4));
+        long second = Long.parseLong(template.render().substring(4));
+
+        assertEquals(first + 1, second);
+    }
+
+    public void testRunIdIsStableWithinTheRun() {
+        RequestTemplate template = RequestTemplate.compile("load${run}-${seq}");
+
+        String first = template.render();
+        String second = template.render();
+
+        assertEquals(first.substring(0, first.indexOf('-')), second.substring(0, second.indexOf('-')));
+        assertFalse(first.equals(second));
+        assertTrue(first.length() > "load-1".length());
+    }
+
+    public void testRandomIntStaysInRange() {
+        RequestTemplate template = RequestTemplate.compile("${randomInt:3:5}");
+        for (int i = 0; i < 200; i++) {
+            int value = Integer.parseInt(template.render());
+            assertTrue(value >= 3 && value <= 5);
+        }
+    }
+
+    public void testPickChoosesListedValue() {
+        RequestTemplate template = RequestTemplate.compile("{\"currency\":\"${pick:USD|EUR}\"}");
+        for (int i = 0; i < 50; i++) {
+            String rendered = template.render();
+            assertTrue(rendered, rendered.equals("{\"currency\":\"USD\"}") || rendered.equals("{\"currency\":\"EUR\"}"));
+        }
+    }
+
+    public void testDates() {
+        LocalDate today = LocalDate.now();
+        assertEquals("on " + today, RequestTemplate.compile("on ${today}").render());
+
+        RequestTemplate template = RequestTemplate.compile("${randomDate:7}");
+        for (int i = 0; i < 50; i++) {
+            LocalDate date = LocalDate.parse(template.render());
+            assertFalse(date.isAfter(LocalDate.now()));
+            assertFalse(date.isBefore(today.minusDays(7)));
+        }
+    }
+
+    public void testUnknownPlaceholderIsRejected() {
+        try {
+            RequestTemplate.compile("${nope}");
+            fail("Unknown placeholders must be rejected.");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testMalformedPlaceholderIsRejected() {
+        for (String template : new String[]{"${randomInt:1}", "${randomInt:a:b}", "${randomDate}", "x${seq"}) {
+            try {
+                RequestTemplate.compile(template);
+                fail(template + " must be rejected.");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.dev2ever.api.rest;
 
 import com.dev2ever.util.OperationResult;
 import com.dev2ever.api.rest.model.ApiResponse;
+import com.dev2ever.api.rest.model.UserLookupResult;
+import com.dev2ever.api.rest.model.UserProfile;
+import com.dev2ever.model.ErrorCode;
 import com.dev2ever.model.User;
+import com.dev2ever.projection.UserProfileProjection;
 import com.dev2ever.repository.UserRepository;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.RequestScoped;
@@ -11,6 +15,9 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * REST resource for managing user operations.
@@ -24,11 +31,19 @@ import jakarta.ws.rs.core.Response;
 @RolesAllowed("user")
 public class UserResource {
 
+    /**
+     * Maximum number of IDs accepted by one batch lookup, set with the {@code user.lookup.maxIds} system property.
+     */
+    static final int MAX_LOOKUP_IDS = Integer.getInteger("user.lookup.maxIds", 1000);
+
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private UserProfileProjection profileProjection;
+
     /**
-     * Creates a new user in the system.
+     * Creates a new user in the system and returns their profile.
      *
      * @param newUser The user object containing the user details to be created
      * @return Response with status:
@@ -42,7 +57,7 @@ public class UserResource {
         OperationResult<User> operationResult = userRepository.save(newUser);
 
         if (operationResult.isSuccess()) {
-            return ApiResponse.success(operationResult.getValue()).buildCreatedResponse();
+            return ApiResponse.success(UserProfile.of(operationResult.getValue())).buildCreatedResponse();
         } else {
             return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
                     .buildDynamicErrorResponse();
@@ -50,29 +65,72 @@ public class UserResource {
     }
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves the profiles of all users in the system, or only the users with the given IDs when the {@code ids}
+     * query parameter is present.
      *
-     * @return Response with status 200 (OK) and a list of all users in the system
+     * @param ids Optional comma-separated list of user IDs, e.g. {@code ?ids=1,2,3}
+     * @return Response with status:
+     * 200 (OK) with a list of all user profiles, or one lookup result per requested ID in request order
+     * 400 (Bad Request) if an ID is not a valid number or more than {@link #MAX_LOOKUP_IDS} IDs are requested
      */
     @GET
-    public Response getUsers() {
-        return ApiResponse.success(userRepository.findAll()).buildOkResponse();
+    public Response getUsers(@QueryParam("ids") String ids) {
+        if (ids == null) {
+            return ApiResponse.success(userRepository.findAll().stream().map(UserProfile::of).toList()).buildOkResponse();
+        }
+
+        List<Long> requestedIds = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                requestedIds.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                return ApiResponse.error("Invalid user ID: " + id.trim(), ErrorCode.FIELD_VALIDATION_ERROR)
+                        .buildBadRequestResponse();
+            }
+        }
+        return buildLookupResponse(lookupUsers(requestedIds));
+    }
+
+    /**
+     * Retrieves the users with the given IDs in a single batch.
+     * Intended for lists of IDs too long to fit comfortably in a query string.
+     *
+     * @param ids The IDs of the users to retrieve
+     * @return Response with status:
+     * 200 (OK) with one lookup result per requested ID in request order
+     * 400 (Bad Request) if the ID list is missing, contains null entries or has more than {@link #MAX_LOOKUP_IDS} IDs
+     */
+    @POST
+    @Path("/lookup")
+    public Response lookupUsersByIds(List<Long> ids) {
+        if (ids == null || ids.contains(null)) {
+            return ApiResponse.error("A list of user IDs is required.", ErrorCode.FIELD_VALIDATION_ERROR)
+                    .buildBadRequestResponse();
+        }
+        return buildLookupResponse(lookupUsers(ids));
     }
 
     /**
-     * Retrieves a specific user by their ID.
+     * Retrieves the profile of a specific user by their ID.
+     * The response body is served pre-encoded from the {@link UserProfileProjection}, which reads users it does
+     * not hold from the database.
      *
      * @param id The ID of the user to retrieve
      * @return Response with status:
-     * 200 (OK) with user data if found
+     * 200 (OK) with the user's profile if found
      * 204 (No Content) if user not found
      */
     @GET
     @Path("/{id}")
     public Response getUserById(@PathParam("id") Long id) {
-        return userRepository.findById(id)
-                .map(user -> ApiResponse.success(user).buildOkResponse())
-                .orElseGet(() -> ApiResponse.success().buildNoContentResponse());
+        byte[] json = profileProjection.findJson(id);
+        if (json != null) {
+            return Response.ok(json, MediaType.APPLICATION_JSON_TYPE).build();
+        }
+        return ApiResponse.success().buildNoContentResponse();
     }
 
     /**
@@ -98,7 +156,7 @@ public class UserResource {
     }
 
     /**
-     * Updates an existing user in the system.
+     * Updates an existing user in the system and returns their profile.
      *
      * @param id          The ID of the user to update
      * @param updatedUser The user object containing the updated user details
@@ -114,6 +172,38 @@ public class UserResource {
     public Response updateUser(@PathParam("id") Long id, User updatedUser) {
         OperationResult<User> operationResult = userRepository.updateUserFields(id, updatedUser);
 
+        if (operationResult.isSuccess()) {
+            return ApiResponse.success(UserProfile.of(operationResult.getValue())).buildOkResponse();
+        } else {
+            return ApiResponse.error(operationResult.getErrorMessage(), operationResult.getErrorCode())
+                    .buildDynamicErrorResponse();
+        }
+    }
+
+    /**
+     * Resolves the given IDs through the profile projection, which reads the IDs it does not hold in one
+     * repository round trip, and lines the results up with the request.
+     *
+     * @param ids The requested user IDs, possibly containing duplicates
+     * @return OperationResult containing one lookup result per requested ID, in request order, with missing users
+     * marked as not found, or error details if more than {@link #MAX_LOOKUP_IDS} IDs were requested
+     */
+    private OperationResult<List<UserLookupResult>> lookupUsers(List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return OperationResult.error(ErrorCode.FIELD_VALIDATION_ERROR,
+                    "At most " + MAX_LOOKUP_IDS + " user IDs can be looked up at once.");
+        }
+        Map<Long, UserProfile> profilesById = profileProjection.findAll(ids);
+
+        List<UserLookupResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserProfile profile = profilesById.get(id);
+            results.add(profile != null ? UserLookupResult.found(profile) : UserLookupResult.missing(id));
+        }
+        return OperationResult.success(results);
+    }
+
+    private Response buildLookupResponse(OperationResult<List<UserLookupResult>> operationResult) {
         if (operationResult.isSuccess()) {
             return ApiResponse.success(operationResult.getValue()).buildOkResponse();
         } else {
@@ -0,0 +1,35 @@
+package com.dev2ever.api.rest.model;
+
+
+/**
+ * Represents the outcome of looking up a single user ID in a batch request.
+ * One entry is returned per requested ID, in request order, so callers can line results up with their input
+ * and tell missing users apart from found ones without comparing lists.
+ */
+public record UserLookupResult(
+        Long id,
+
+        boolean found,
+
+        UserProfile user) {
+
+    /**
+     * Creates a lookup result for a user that exists.
+     *
+     * @param user The profile of the user that was found
+     * @return A lookup result marked as found
+     */
+    public static UserLookupResult found(UserProfile user) {
+        return new UserLookupResult(user.id(), true, user);
+    }
+
+    /**
+     * Creates a lookup result for an ID that does not match any user.
+     *
+     * @param id The requested ID
+     * @return A lookup result marked as missing
+     */
+    public static UserLookupResult missing(Long id) {
+        return new UserLookupResult(id, false, null);
+    }
+}
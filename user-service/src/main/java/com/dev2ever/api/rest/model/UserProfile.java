@@ -0,0 +1,35 @@
+package com.dev2ever.api.rest.model;
+
+import com.dev2ever.model.User;
+import jakarta.json.bind.annotation.JsonbTransient;
+
+
+/**
+ * Represents the public profile of a user as returned by read endpoints.
+ * Unlike {@link User}, it never carries the password. The version is kept to order changes and is not serialized.
+ */
+public record UserProfile(
+        Long id,
+
+        String username,
+
+        String email,
+
+        String fullName,
+
+        String homeCurrency,
+
+        @JsonbTransient
+        long version) {
+
+    /**
+     * Creates the profile of a user entity.
+     *
+     * @param user The user to describe
+     * @return The user's profile
+     */
+    public static UserProfile of(User user) {
+        return new UserProfile(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                user.getHomeCurrency(), user.getVersion());
+    }
+}
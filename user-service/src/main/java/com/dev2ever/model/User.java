@@ -1,8 +1,10 @@
 package com.dev2ever.model;
 
+import jakarta.json.bind.annotation.JsonbTransient;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -13,7 +15,7 @@ import java.util.Objects;
 
 /**
  * Represents a user entity in the system.
- * This class contains user-related information such as username, email, password, and full name.
+ * This class contains user-related information such as username, email, password, full name, and home currency.
  * It is mapped to the "users" database table and includes validation constraints for its fields.
  */
 @Entity
@@ -25,10 +27,11 @@ public class User implements Serializable {
 
     /**
      * The unique identifier for the user.
-     * This ID is automatically generated using a sequence strategy.
+     * This ID is generated from the "users_seq" sequence created by the schema migrations.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -64,6 +67,23 @@ public class User implements Serializable {
     @Column
     private String fullName;
 
+    /**
+     * The ISO 4217 code of the currency the user's reports are shown in, e.g. "EUR".
+     * Defaults to "USD".
+     */
+    @NotBlank(message = "Home currency cannot be blank")
+    @Pattern(regexp = "[A-Z]{3}", message = "Home currency must be a three-letter ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String homeCurrency = "USD";
+
+    /**
+     * The version of the user, incremented by every update. Used for optimistic locking and to order
+     * profile changes; not part of the JSON representation.
+     */
+    @Version
+    @JsonbTransient
+    private long version;
+
     /**
      * Checks if this user is equal to another object.
      * Two users are considered equal if they have the same non-null ID.
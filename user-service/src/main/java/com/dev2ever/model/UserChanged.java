@@ -0,0 +1,21 @@
+package com.dev2ever.model;
+
+import com.dev2ever.api.rest.model.UserProfile;
+
+
+/**
+ * CDI event fired by the user repository when a user is created, updated or deleted.
+ * Observers run inside the writing transaction, or after it commits when they use
+ * {@code TransactionPhase.AFTER_SUCCESS}.
+ *
+ * @param userId  The ID of the user that changed
+ * @param profile The user's profile after the change, or null if the user was deleted
+ * @param version The user's version after the change, or the last version of a deleted user
+ */
+public record UserChanged(
+        Long userId,
+
+        UserProfile profile,
+
+        long version) {
+}
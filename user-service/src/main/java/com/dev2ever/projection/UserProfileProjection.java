@@ -0,0 +1,278 @@
+package com.dev2ever.projection;
+
+import com.dev2ever.api.rest.model.ApiResponse;
+import com.dev2ever.api.rest.model.UserProfile;
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.model.User;
+import com.dev2ever.model.UserChanged;
+import com.dev2ever.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Read-only, in-memory projection of user profiles, so most profile reads never touch the database.
+ * <p>
+ * Each user is held as an immutable {@link UserProfile} together with the JSON body of its GET response,
+ * encoded once when the profile changes; a read is a map lookup and the body bytes are written as they are.
+ * The projection is rebuilt at startup by streaming the users table and kept current by {@link UserChanged}
+ * events once the writing transaction commits. A change replaces an entry only if its version is not older,
+ * so events applied out of order cannot restore an outdated profile. A deleted user leaves a tombstone holding
+ * its last version, so a profile read from the database before the delete committed is not added back.
+ * <p>
+ * A user missing from the projection is read from the database and added to it; a user not found there is
+ * remembered as missing for {@code user.projection.missTtlMillis} (default 5000 ms). Memory use is estimated
+ * per entry and capped at {@code user.projection.maxBytes} (default 64 MB); users that do not fit are always
+ * read from the database.
+ * <p>
+ * The projection is per JVM and only sees changes committed by its own node, so it is meant for single-node
+ * deployments: with several nodes, users created elsewhere are found through the database, but changes made
+ * elsewhere to users already held here stay unseen until the next restart.
+ */
+@ApplicationScoped
+public class UserProfileProjection {
+
+    /**
+     * Rough fixed cost of one entry besides its strings and JSON body: map node, boxed key, record and array headers.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    /**
+     * Number of remembered missing IDs above which they are all forgotten, so lookups of random IDs cannot grow the map.
+     */
+    private static final int MAX_MISSES = 100_000;
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(UserProfileProjection.class);
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final long maxBytes = Long.getLong("user.projection.maxBytes", 64L * 1024 * 1024);
+    private final long missTtlNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("user.projection.missTtlMillis", 5000));
+    private final Map<Long, Long> misses = new ConcurrentHashMap<>();
+    private final Jsonb jsonb = JsonbBuilder.create();
+
+    private volatile boolean capLogged;
+
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Replaces the projection's content with the profiles currently in the database, streamed in one pass
+     * without loading user entities. Called at startup, before requests are served.
+     *
+     * @return The number of profiles loaded
+     */
+    public int rebuild() {
+        snapshots.clear();
+        misses.clear();
+        estimatedBytes.set(0);
+        capLogged = false;
+        userRepository.forEachProfile(this::put);
+        logger.info("User profile projection holds {} profile(s), about {} KB of {} KB allowed.",
+                size(), estimatedBytes() / 1024, maxBytes / 1024);
+        return size();
+    }
+
+    /**
+     * Applies a committed user change to the projection.
+     *
+     * @param event The change that was committed
+     */
+    void onUserChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserChanged event) {
+        if (event.profile() == null) {
+            Snapshot tombstone = new Snapshot(null, null, ENTRY_OVERHEAD_BYTES, event.version());
+            snapshots.compute(event.userId(), (id, previous) -> {
+                if (previous != null && previous.version() > event.version()) {
+                    return previous;
+                }
+                estimatedBytes.addAndGet(tombstone.estimatedBytes() - (previous != null ? previous.estimatedBytes() : 0));
+                return tombstone;
+            });
+            misses.remove(event.userId());
+        } else {
+            put(event.profile());
+        }
+    }
+
+    /**
+     * Retrieves the profiles of the given users, reading those the projection does not hold in one
+     * repository round trip.
+     *
+     * @param ids The IDs of the users
+     * @return The profiles found, keyed by ID; IDs without a matching user are absent
+     */
+    public Map<Long, UserProfile> findAll(Collection<Long> ids) {
+        Map<Long, UserProfile> profiles = new HashMap<>(ids.size() * 2);
+        List<Long> unknownIds = new ArrayList<>();
+        for (Long id : ids) {
+            Snapshot snapshot = snapshots.get(id);
+            if (snapshot != null) {
+                if (!snapshot.isDeleted()) {
+                    profiles.put(id, snapshot.profile());
+                }
+            } else if (!isKnownMissing(id)) {
+                unknownIds.add(id);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            for (User user : userRepository.findAllByIds(unknownIds).values()) {
+                Snapshot snapshot = load(UserProfile.of(user));
+                if (snapshot != null) {
+                    profiles.put(user.getId(), snapshot.profile());
+                }
+            }
+            for (Long id : unknownIds) {
+                if (!profiles.containsKey(id)) {
+                    rememberMissing(id);
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Retrieves the encoded GET response body of a user's profile, reading the user from the database
+     * if the projection does not hold it.
+     * The returned array is shared and must not be modified.
+     *
+     * @param id The ID of the user
+     * @return The JSON body, or null if the user does not exist
+     */
+    public byte[] findJson(Long id) {
+        Snapshot snapshot = snapshots.get(id);
+        if (snapshot == null && !isKnownMissing(id)) {
+            Optional<User> user = userRepository.findById(id);
+            if (user.isEmpty()) {
+                rememberMissing(id);
+                return null;
+            }
+            snapshot = load(UserProfile.of(user.get()));
+        }
+        return snapshot != null && !snapshot.isDeleted() ? snapshot.json() : null;
+    }
+
+    /**
+     * Returns the number of entries held, including the tombstones of users deleted since the last rebuild.
+     *
+     * @return The number of entries in the projection
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Returns the estimated memory used by the held profiles and their encoded bodies.
+     *
+     * @return The estimated size in bytes
+     */
+    public long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    @PreDestroy
+    void close() {
+        try {
+            jsonb.close();
+        } catch (Exception e) {
+            logger.warn("Could not close JSON-B instance: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a profile read from the database and returns the entry now held, or the profile's own snapshot
+     * if it did not fit or a newer version is already held, or null if the user has been deleted meanwhile.
+     */
+    private Snapshot load(UserProfile profile) {
+        Snapshot snapshot = put(profile);
+        Snapshot held = snapshots.get(profile.id());
+        if (held == null) {
+            return snapshot;
+        }
+        return held.isDeleted() ? null : held;
+    }
+
+    /**
+     * Holds a profile unless a newer version, or the tombstone of a delete that happened after it was read,
+     * is held already.
+     */
+    private Snapshot put(UserProfile profile) {
+        Snapshot snapshot = encode(profile);
+        snapshots.compute(profile.id(), (id, previous) -> {
+            if (previous != null && (previous.isDeleted()
+                    ? previous.version() >= profile.version()
+                    : previous.version() > profile.version())) {
+                return previous;
+            }
+            misses.remove(id);
+            long previousBytes = previous != null ? previous.estimatedBytes() : 0;
+            if (estimatedBytes.get() - previousBytes + snapshot.estimatedBytes() > maxBytes) {
+                if (!capLogged) {
+                    capLogged = true;
+                    logger.warn("User profile projection reached its {} KB cap; users left out are read from the database.",
+                            maxBytes / 1024);
+                }
+                estimatedBytes.addAndGet(-previousBytes);
+                return null;
+            }
+            estimatedBytes.addAndGet(snapshot.estimatedBytes() - previousBytes);
+            return snapshot;
+        });
+        return snapshot;
+    }
+
+    private void rememberMissing(Long id) {
+        if (misses.size() >= MAX_MISSES) {
+            misses.clear();
+        }
+        misses.put(id, System.nanoTime() + missTtlNanos);
+    }
+
+    private boolean isKnownMissing(Long id) {
+        Long expiresAt = misses.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            return true;
+        }
+        misses.remove(id, expiresAt);
+        return false;
+    }
+
+    private Snapshot encode(UserProfile profile) {
+        byte[] json = jsonb.toJson(ApiResponse.success(profile)).getBytes(StandardCharsets.UTF_8);
+        long strings = length(profile.username()) + length(profile.email())
+                + length(profile.fullName()) + length(profile.homeCurrency());
+        return new Snapshot(profile, json, ENTRY_OVERHEAD_BYTES + json.length + strings, profile.version());
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * A held profile with its encoded body, or the tombstone of a deleted user, which has neither.
+     */
+    private record Snapshot(UserProfile profile, byte[] json, long estimatedBytes, long version) {
+
+        boolean isDeleted() {
+            return profile == null;
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.dev2ever.repository;
 
+import com.dev2ever.api.rest.model.UserProfile;
+import com.dev2ever.logging.LogSampler;
+import com.dev2ever.logging.StructuredLogger;
 import com.dev2ever.model.ErrorCode;
 import com.dev2ever.model.User;
+import com.dev2ever.model.UserChanged;
 import com.dev2ever.util.OperationResult;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolationException;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 /**
@@ -22,11 +33,27 @@ import java.util.logging.Logger;
 @ApplicationScoped
 public class UserRepository {
 
-    private final Logger logger = Logger.getLogger(UserRepository.class.getName());
+    /**
+     * Maximum number of IDs bound into a single IN-list query. Larger batches are split into chunks
+     * to stay well below database bind-parameter limits and keep query plans cacheable.
+     */
+    static final int MAX_IN_LIST_SIZE = 500;
+
+    private static final LogSampler SUCCESS_SAMPLER = LogSampler.oneIn(100);
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(UserRepository.class);
+
+    /**
+     * Number of rows fetched per round trip when streaming the users table.
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Inject
+    private Event<UserChanged> userChanged;
+
     /**
      * Persists a new user to the database.
      *
@@ -39,12 +66,14 @@ public class UserRepository {
         try {
             entityManager.persist(user);
             entityManager.flush();
+            userChanged.fire(new UserChanged(user.getId(), UserProfile.of(user), user.getVersion()));
+            logger.info(SUCCESS_SAMPLER, "Saved user {}", user.getId());
             return OperationResult.success(user);
         } catch (ConstraintViolationException e) {
-            logger.severe("Constraint violation while saving user: " + e.getMessage());
+            logger.warn("Constraint violation while saving user: {}", e.getMessage());
             return OperationResult.error(ErrorCode.DUPLICATE_RESOURCE, "Username or email already exists.");
         } catch (Exception e) {
-            logger.severe("Error saving user: " + e.getMessage());
+            logger.error("Error saving user", e);
             return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while saving the user.");
         }
     }
@@ -59,6 +88,27 @@ public class UserRepository {
         return Optional.ofNullable(entityManager.find(User.class, id));
     }
 
+    /**
+     * Retrieves all users matching the given IDs using IN-list queries, one per chunk of
+     * {@link #MAX_IN_LIST_SIZE} distinct IDs. Null and duplicate IDs are ignored.
+     *
+     * @param ids The IDs of the users to find
+     * @return Map of the users found, keyed by ID; IDs without a matching user are absent
+     */
+    public Map<Long, User> findAllByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, User> usersById = new HashMap<>(distinctIds.size() * 2);
+        String query = "SELECT u FROM User u WHERE u.id IN :ids";
+        for (int from = 0; from < distinctIds.size(); from += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_IN_LIST_SIZE, distinctIds.size()));
+            entityManager.createQuery(query, User.class)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(user -> usersById.put(user.getId(), user));
+        }
+        return usersById;
+    }
+
     /**
      * Retrieves a user by their username.
      *
@@ -86,6 +136,23 @@ public class UserRepository {
 
     }
 
+    /**
+     * Streams the profiles of all users in one query, reading only the profile columns so no
+     * entities are loaded into the persistence context.
+     *
+     * @param action Receives each profile, in ID order
+     */
+    @Transactional
+    public void forEachProfile(Consumer<UserProfile> action) {
+        String query = "SELECT new com.dev2ever.api.rest.model.UserProfile(u.id, u.username, u.email, u.fullName, u.homeCurrency, u.version) " +
+                "FROM User u ORDER BY u.id";
+        try (Stream<UserProfile> profiles = entityManager.createQuery(query, UserProfile.class)
+                .setHint("org.hibernate.fetchSize", STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            profiles.forEach(action);
+        }
+    }
+
     /**
      * Retrieves all users from the database.
      *
@@ -107,11 +174,12 @@ public class UserRepository {
             User user = entityManager.find(User.class, id);
             if (user != null) {
                 entityManager.remove(user);
+                userChanged.fire(new UserChanged(id, null, user.getVersion()));
                 return OperationResult.success();
             }
             return OperationResult.error(ErrorCode.NOT_FOUND, "User not found with ID: " + id);
         } catch (Exception e) {
-            logger.severe("Error deleting user: " + e.getMessage());
+            logger.error("Error deleting user {}", id, e);
             return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while deleting the user.");
         }
     }
@@ -135,17 +203,17 @@ public class UserRepository {
             existingUser.setEmail(updatedUser.getEmail());
             existingUser.setPassword(updatedUser.getPassword());
             existingUser.setFullName(updatedUser.getFullName());
+            existingUser.setHomeCurrency(updatedUser.getHomeCurrency());
 
             entityManager.flush();
+            userChanged.fire(new UserChanged(id, UserProfile.of(existingUser), existingUser.getVersion()));
             return OperationResult.success(existingUser);
         } catch (ConstraintViolationException e) {
-            logger.severe("Constraint violation while updating user: " + e.getMessage());
+            logger.warn("Constraint violation while updating user: {}", e.getMessage());
             return OperationResult.error(ErrorCode.DUPLICATE_RESOURCE, "Username or email already exists.");
         } catch (Exception e) {
-            logger.severe("Error updating user: " + e.getMessage());
+            logger.error("Error updating user", e);
             return OperationResult.error(ErrorCode.INTERNAL_SERVER_ERROR, "An unexpected error occurred while updating the user.");
         }
     }
-
-
 }
\ No newline at end of file
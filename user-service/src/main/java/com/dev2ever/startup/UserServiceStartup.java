@@ -0,0 +1,54 @@
+package com.dev2ever.startup;
+
+import com.dev2ever.logging.StructuredLogger;
+import com.dev2ever.migration.SchemaMigrator;
+import com.dev2ever.projection.UserProfileProjection;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+
+
+/**
+ * Runs the user service's startup work once the application is deployed: pending schema migrations are
+ * applied, the first database round trip is made and the user profile projection is built, and the time spent
+ * in each phase is logged as a {@link StartupReport}. Everything else is left to normal-scoped beans, which are created on first use.
+ */
+@ApplicationScoped
+public class UserServiceStartup {
+
+    private final StructuredLogger logger = StructuredLogger.getLogger(UserServiceStartup.class);
+
+    @Resource(lookup = "java:jboss/datasources/UserDS")
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private UserProfileProjection profileProjection;
+
+    /**
+     * Migrates the schema and logs the startup report when the application scope starts.
+     *
+     * @param event The application scope initialization event
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        logger.info("JVM uptime when user-service started: {} ms", ManagementFactory.getRuntimeMXBean().getUptime());
+        StartupReport report = new StartupReport("user-service");
+        int applied = report.time("schema migrations",
+                () -> new SchemaMigrator(dataSource, "db/migration", getClass().getClassLoader())
+                        .withBaseline("users").migrate());
+        report.time("first database round trip",
+                () -> entityManager.createQuery("SELECT COUNT(u) FROM User u", Long.class).getSingleResult());
+        report.time("user profile projection", profileProjection::rebuild);
+        logger.info(report.format());
+        logger.info("Applied {} schema migration(s).", applied);
+    }
+}
@@ -0,0 +1,2 @@
+-- Adds the currency reports are shown in. Existing users default to USD.
+ALTER TABLE users ADD COLUMN homeCurrency VARCHAR(3) DEFAULT 'USD' NOT NULL;
@@ -0,0 +1,2 @@
+-- Adds the optimistic-lock version, which orders profile changes in the projection.
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;